@@ -2,17 +2,27 @@ package com.oakkits;
 
 import com.oakkits.commands.KitCommand;
 import com.oakkits.commands.KitTabCompleter;
+import com.oakkits.hooks.LuckPermsHook;
 import com.oakkits.hooks.PlaceholderAPIHook;
 import com.oakkits.listeners.EditorGUIListener;
 import com.oakkits.listeners.GUIListener;
+import com.oakkits.listeners.PlayerDataListener;
 import com.oakkits.managers.*;
 import com.oakkits.utils.ColorUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.command.PluginCommand;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
 public class OakKits extends JavaPlugin {
     
+    public static final List<String> RELOAD_TARGETS = Arrays.asList("all", "config", "messages", "gui", "kits", "data");
+    
     private static OakKits instance;
     
     private ConfigManager configManager;
@@ -23,6 +33,7 @@ public class OakKits extends JavaPlugin {
     private EconomyManager economyManager;
     private BedrockManager bedrockManager;
     private EditorGUIManager editorGUIManager;
+    private NotificationManager notificationManager;
     
     @Override
     public void onEnable() {
@@ -39,9 +50,11 @@ public class OakKits extends JavaPlugin {
         log("&7Loading configurations...");
         configManager = new ConfigManager(this);
         messagesManager = new MessagesManager(this);
+        notificationManager = new NotificationManager(this);
         guiManager = new GUIManager(this);
         kitsManager = new KitsManager(this);
         dataManager = new DataManager(this);
+        kitsManager.awaitLoad();
         
         log("&7Setting up economy...");
         economyManager = new EconomyManager(this);
@@ -60,6 +73,7 @@ public class OakKits extends JavaPlugin {
         
         log("&7Setting up PlaceholderAPI...");
         setupPlaceholderAPI();
+        setupLuckPerms();
         
         dataManager.cleanupExpiredCooldowns();
         
@@ -78,6 +92,10 @@ public class OakKits extends JavaPlugin {
     
     @Override
     public void onDisable() {
+        if (kitsManager != null) {
+            kitsManager.shutdown();
+        }
+        
         if (dataManager != null) {
             dataManager.shutdown();
         }
@@ -103,6 +121,7 @@ public class OakKits extends JavaPlugin {
     private void registerListeners() {
         Bukkit.getPluginManager().registerEvents(new GUIListener(this), this);
         Bukkit.getPluginManager().registerEvents(new EditorGUIListener(this), this);
+        Bukkit.getPluginManager().registerEvents(new PlayerDataListener(this), this);
     }
     
     private boolean placeholderAPIEnabled = false;
@@ -121,18 +140,56 @@ public class OakKits extends JavaPlugin {
         return placeholderAPIEnabled;
     }
     
-    public void reloadAllConfigs() {
-        log("&7Reloading all configurations...");
-        
-        configManager.reload();
-        messagesManager.reload();
-        guiManager.reload();
-        kitsManager.reload();
-        dataManager.reload();
-        bedrockManager.reload();
-        editorGUIManager.reload();
-        
-        log("&a✓ All configurations reloaded!");
+    private void setupLuckPerms() {
+        if (Bukkit.getPluginManager().isPluginEnabled("LuckPerms") && new LuckPermsHook(this).register()) {
+            log("&aLuckPerms hooked! Kit access refreshes on permission changes.");
+        }
+    }
+    
+    public CompletableFuture<Void> reload(String target) {
+        switch (target) {
+            case "config":
+                return reloadAsync(configManager::readConfig, config -> {
+                    configManager.applyConfig(config);
+                    bedrockManager.reload();
+                });
+            case "messages":
+                return reloadAsync(messagesManager::readMessages, messagesManager::applyMessages);
+            case "gui":
+                return CompletableFuture.allOf(
+                    reloadAsync(guiManager::readGUI, guiManager::applyGUI),
+                    reloadAsync(editorGUIManager::readConfig, editorGUIManager::applyConfig));
+            case "kits":
+                return kitsManager.reload();
+            case "data":
+                return dataManager.reload();
+            default:
+                return reload("config").thenCompose(ignored -> CompletableFuture.allOf(
+                    reload("messages"), reload("gui"), reload("kits")));
+        }
+    }
+    
+    private <T> CompletableFuture<Void> reloadAsync(Supplier<T> reader, Consumer<T> apply) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Bukkit.getScheduler().runTaskAsynchronously(this, () -> {
+            T loaded;
+            try {
+                loaded = reader.get();
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+                return;
+            }
+            
+            Bukkit.getScheduler().runTask(this, () -> {
+                try {
+                    apply.accept(loaded);
+                    done.complete(null);
+                } catch (RuntimeException e) {
+                    done.completeExceptionally(e);
+                }
+            });
+        });
+        return done;
     }
     
     private void printStartupBanner() {
@@ -203,4 +260,8 @@ public class OakKits extends JavaPlugin {
     public EditorGUIManager getEditorGUIManager() {
         return editorGUIManager;
     }
+    
+    public NotificationManager getNotificationManager() {
+        return notificationManager;
+    }
 }
@@ -1,13 +1,14 @@
 package com.oakkits.commands;
 
 import com.oakkits.OakKits;
+import com.oakkits.managers.KitsManager;
 import com.oakkits.managers.MessagesManager;
 import com.oakkits.models.Kit;
-import com.oakkits.utils.ActionBarUtil;
 import com.oakkits.utils.ColorUtil;
 import com.oakkits.utils.TimeUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -19,10 +20,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 public class KitCommand implements CommandExecutor {
     
     private final OakKits plugin;
+    private final ClaimContext claimContext = new ClaimContext();
     
     public KitCommand(OakKits plugin) {
         this.plugin = plugin;
@@ -62,10 +65,10 @@ public class KitCommand implements CommandExecutor {
             case "edit":
                 return handleEdit(sender, args);
             case "reload":
-                return handleReload(sender);
+                return handleReload(sender, args);
             case "list":
                 if (sender instanceof Player) {
-                    showKitList((Player) sender);
+                    showKitList((Player) sender, args);
                 }
                 return true;
             default:
@@ -79,13 +82,50 @@ public class KitCommand implements CommandExecutor {
     }
     
     private void showKitList(Player player) {
+        showKitList(player, null, 1);
+    }
+    
+    private void showKitList(Player player, String[] args) {
+        String category = null;
+        String pageArg = null;
+        if (args.length > 1) {
+            if (isPageNumber(args[1])) {
+                pageArg = args[1];
+            } else {
+                category = args[1].toLowerCase();
+                if (args.length > 2) {
+                    pageArg = args[2];
+                }
+            }
+        }
+        
+        if (category != null && !plugin.getKitsManager().categoryExists(category)) {
+            MessagesManager msg = plugin.getMessagesManager();
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("category", category);
+            player.sendMessage(formatForPlayer(player, msg.getPrefix() + msg.getMessage("kit-list.unknown-category", placeholders)));
+            return;
+        }
+        
+        int page = pageArg != null && isPageNumber(pageArg) ? Integer.parseInt(pageArg) : 1;
+        showKitList(player, category, page);
+    }
+    
+    private void showKitList(Player player, String category, int page) {
         MessagesManager msg = plugin.getMessagesManager();
-        List<Kit> availableKits = plugin.getKitsManager().getAvailableKits(player);
+        List<Kit> availableKits = category != null
+            ? plugin.getKitsManager().getAvailableKits(player, category)
+            : plugin.getKitsManager().getAvailableKits(player);
         
         if (availableKits.isEmpty()) {
             String noKitsMsg = msg.getPrefix() + msg.getMessage("kit-list.no-kits");
             player.sendMessage(formatForPlayer(player, noKitsMsg));
-            ActionBarUtil.sendActionBar(player, formatForPlayer(player, "&c✗ No kits available"));
+            plugin.getNotificationManager().sendActionBar(player, formatForPlayer(player, "&c✗ No kits available"));
+            return;
+        }
+        
+        if (!plugin.getDataManager().ensureLoaded(player.getUniqueId())) {
+            player.sendMessage(formatForPlayer(player, msg.getChatMessage("data-loading")));
             return;
         }
         
@@ -95,13 +135,19 @@ public class KitCommand implements CommandExecutor {
             return;
         }
         
+        int pageSize = plugin.getConfigManager().getListPageSize();
+        int pages = (availableKits.size() + pageSize - 1) / pageSize;
+        page = Math.max(1, Math.min(page, pages));
+        int from = (page - 1) * pageSize;
+        List<Kit> pageKits = availableKits.subList(from, Math.min(from + pageSize, availableKits.size()));
+        
         player.sendMessage(formatForPlayer(player, msg.getMessage("kit-list.header")));
         player.sendMessage(formatForPlayer(player, msg.getMessage("kit-list.title")));
         player.sendMessage("");
         
         UUID uuid = player.getUniqueId();
         
-        for (Kit kit : availableKits) {
+        for (Kit kit : pageKits) {
             String kitId = kit.getId();
             Map<String, String> placeholders = new HashMap<>();
             placeholders.put("kit", kit.getDisplayName());
@@ -120,59 +166,88 @@ public class KitCommand implements CommandExecutor {
         }
         
         player.sendMessage("");
+        if (pages > 1) {
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("page", String.valueOf(page));
+            placeholders.put("pages", String.valueOf(pages));
+            placeholders.put("command", "/kit list " + (category != null ? category + " " : "") + (page < pages ? page + 1 : 1));
+            player.sendMessage(formatForPlayer(player, msg.getMessage("kit-list.page", placeholders)));
+        }
+        if (category == null && plugin.getKitsManager().getCategories().size() > 1) {
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("categories", String.join(", ", plugin.getKitsManager().getCategories()));
+            player.sendMessage(formatForPlayer(player, msg.getMessage("kit-list.categories", placeholders)));
+        }
         player.sendMessage(formatForPlayer(player, msg.getMessage("kit-list.footer")));
         
-        ActionBarUtil.sendActionBar(player, formatForPlayer(player, "&a✓ " + availableKits.size() + " kits available"));
+        plugin.getNotificationManager().sendActionBar(player, formatForPlayer(player, "&a✓ " + availableKits.size() + " kits available"));
+    }
+    
+    private boolean isPageNumber(String arg) {
+        if (arg.isEmpty() || arg.length() > 6) return false;
+        for (int i = 0; i < arg.length(); i++) {
+            if (!Character.isDigit(arg.charAt(i))) return false;
+        }
+        return true;
     }
     
     private void claimKit(Player player, String kitName) {
+        ClaimContext context = claimContext.inUse ? new ClaimContext() : claimContext;
+        context.begin(player, kitName, plugin.getBedrockManager().isMobileFriendly(player));
+        try {
+            claimKit(context);
+        } finally {
+            context.end();
+        }
+    }
+    
+    private void claimKit(ClaimContext context) {
         MessagesManager msg = plugin.getMessagesManager();
-        Kit kit = plugin.getKitsManager().getKit(kitName);
-        
-        Map<String, String> placeholders = new HashMap<>();
-        placeholders.put("kit", kitName);
+        Player player = context.player;
+        Kit kit = plugin.getKitsManager().getKit(context.kitName);
         
         if (kit == null) {
-            player.sendMessage(formatForPlayer(player, msg.getChatMessage("kit-not-found", placeholders)));
-            ActionBarUtil.sendActionBar(player, formatForPlayer(player, msg.getActionBarMessage("kit-not-found", placeholders)));
+            notify(context, "kit-not-found", true);
             return;
         }
         
-        placeholders.put("kit", kit.getDisplayName());
+        context.kitName = kit.getDisplayName();
         
         String perm = kit.getPermission();
         if (perm != null && !perm.isEmpty() && !player.hasPermission(perm)) {
-            player.sendMessage(formatForPlayer(player, msg.getChatMessage("no-permission", placeholders)));
-            ActionBarUtil.sendActionBar(player, formatForPlayer(player, msg.getActionBarMessage("no-permission", placeholders)));
+            notify(context, "no-permission", true);
             return;
         }
         
         UUID uuid = player.getUniqueId();
+        if (!plugin.getDataManager().isLoaded(uuid)) {
+            notify(context, "data-loading", true);
+            return;
+        }
+        
         boolean bypassCooldown = player.isOp() || player.hasPermission("oakkits.bypass.cooldown");
         
         if (kit.isOneTime() && plugin.getDataManager().hasUsedOneTime(uuid, kit.getId()) && !bypassCooldown) {
-            player.sendMessage(formatForPlayer(player, msg.getChatMessage("one-time-used", placeholders)));
-            ActionBarUtil.sendActionBar(player, formatForPlayer(player, msg.getActionBarMessage("one-time-used", placeholders)));
+            notify(context, "one-time-used", true);
             return;
         }
         
         if (!bypassCooldown && plugin.getDataManager().isOnCooldown(uuid, kit.getId())) {
             long remaining = plugin.getDataManager().getRemainingCooldown(uuid, kit.getId());
-            placeholders.put("time", TimeUtil.formatTime(remaining));
-            player.sendMessage(formatForPlayer(player, msg.getChatMessage("cooldown-active", placeholders)));
-            ActionBarUtil.sendActionBar(player, formatForPlayer(player, msg.getActionBarMessage("cooldown-active", placeholders)));
+            context.time = TimeUtil.formatTime(remaining);
+            notify(context, "cooldown-active", true);
             return;
         }
         
         double cost = kit.getCost();
-        if (cost > 0 && plugin.getEconomyManager().isEnabled()) {
+        boolean charge = cost > 0 && plugin.getEconomyManager().isEnabled();
+        if (charge) {
             double balance = plugin.getEconomyManager().getBalance(player);
-            placeholders.put("cost", String.valueOf(cost));
-            placeholders.put("balance", String.valueOf(balance));
+            context.cost = String.valueOf(cost);
+            context.balance = String.valueOf(balance);
             
             if (!plugin.getEconomyManager().hasBalance(player, cost)) {
-                player.sendMessage(formatForPlayer(player, msg.getChatMessage("not-enough-money", placeholders)));
-                ActionBarUtil.sendActionBar(player, formatForPlayer(player, msg.getActionBarMessage("not-enough-money", placeholders)));
+                notify(context, "not-enough-money", true);
                 return;
             }
         }
@@ -182,18 +257,14 @@ public class KitCommand implements CommandExecutor {
             int neededSlots = kit.getTotalSlots();
             
             if (emptySlots < neededSlots) {
-                player.sendMessage(formatForPlayer(player, msg.getChatMessage("inventory-full-denied", placeholders)));
-                if (plugin.getConfigManager().isActionbarEnabled()) {
-                    ActionBarUtil.sendActionBar(player, formatForPlayer(player, msg.getActionBarMessage("inventory-full-denied", placeholders)));
-                }
+                notify(context, "inventory-full-denied", plugin.getConfigManager().isActionbarEnabled());
                 return;
             }
         }
         
-        if (cost > 0 && plugin.getEconomyManager().isEnabled()) {
+        if (charge) {
             plugin.getEconomyManager().withdraw(player, cost);
-            placeholders.put("cost", String.valueOf(cost));
-            player.sendMessage(formatForPlayer(player, msg.getChatMessage("money-deducted", placeholders)));
+            player.sendMessage(msg.getChatMessage("money-deducted", context, context.mobile));
         }
         
         if (plugin.getConfigManager().isClearBeforeGive()) {
@@ -224,9 +295,10 @@ public class KitCommand implements CommandExecutor {
         }
         
         if (plugin.getConfigManager().isTitleEnabled()) {
-            String titleMain = msg.getMessage("title.kit-claimed.main", placeholders);
-            String titleSub = msg.getMessage("title.kit-claimed.subtitle", placeholders);
-            player.sendTitle(
+            String titleMain = msg.getMessage("title.kit-claimed.main", context);
+            String titleSub = msg.getMessage("title.kit-claimed.subtitle", context);
+            plugin.getNotificationManager().sendTitle(
+                player,
                 titleMain,
                 titleSub,
                 plugin.getConfigManager().getTitleFadeIn(),
@@ -236,19 +308,23 @@ public class KitCommand implements CommandExecutor {
         }
         
         if (plugin.getConfigManager().isBroadcastEnabled() && cost >= plugin.getConfigManager().getBroadcastMinCost()) {
-            Map<String, String> broadcastPlaceholders = new HashMap<>(placeholders);
-            broadcastPlaceholders.put("player", player.getName());
-            String broadcastMsg = msg.getMessage("broadcast.kit-claimed", broadcastPlaceholders);
-            Bukkit.broadcastMessage(broadcastMsg);
+            context.broadcast = true;
+            Bukkit.broadcastMessage(msg.getMessage("broadcast.kit-claimed", context));
+            context.broadcast = false;
         }
         
         if (plugin.getConfigManager().isLogClaims()) {
             plugin.log("&7" + player.getName() + " claimed kit &e" + kit.getId());
         }
         
-        player.sendMessage(formatForPlayer(player, msg.getChatMessage("kit-claimed", placeholders)));
-        if (plugin.getConfigManager().isActionbarEnabled()) {
-            ActionBarUtil.sendActionBar(player, formatForPlayer(player, msg.getActionBarMessage("kit-claimed", placeholders)));
+        notify(context, "kit-claimed", plugin.getConfigManager().isActionbarEnabled());
+    }
+    
+    private void notify(ClaimContext context, String path, boolean actionBar) {
+        MessagesManager msg = plugin.getMessagesManager();
+        context.player.sendMessage(msg.getChatMessage(path, context, context.mobile));
+        if (actionBar) {
+            plugin.getNotificationManager().sendActionBar(context.player, msg.getActionBarMessage(path, context, context.mobile));
         }
     }
     
@@ -265,7 +341,7 @@ public class KitCommand implements CommandExecutor {
         boolean autoEquipArmor = plugin.getConfigManager().isAutoEquipArmor();
         
         for (ItemStack item : kit.getItems()) {
-            HashMap<Integer, ItemStack> leftover = inv.addItem(item.clone());
+            HashMap<Integer, ItemStack> leftover = inv.addItem(item);
             if (!leftover.isEmpty() && dropOnGround) {
                 for (ItemStack drop : leftover.values()) {
                     player.getWorld().dropItemNaturally(player.getLocation(), drop);
@@ -273,40 +349,44 @@ public class KitCommand implements CommandExecutor {
             }
         }
         
+        ItemStack helmet = kit.getHelmet();
+        ItemStack chestplate = kit.getChestplate();
+        ItemStack leggings = kit.getLeggings();
+        ItemStack boots = kit.getBoots();
         if (autoEquipArmor) {
-            if (kit.getHelmet() != null) {
+            if (helmet != null) {
                 if (inv.getHelmet() == null) {
-                    inv.setHelmet(kit.getHelmet().clone());
+                    inv.setHelmet(helmet);
                 } else {
-                    giveOrDrop(player, kit.getHelmet().clone(), dropOnGround);
+                    giveOrDrop(player, helmet, dropOnGround);
                 }
             }
-            if (kit.getChestplate() != null) {
+            if (chestplate != null) {
                 if (inv.getChestplate() == null) {
-                    inv.setChestplate(kit.getChestplate().clone());
+                    inv.setChestplate(chestplate);
                 } else {
-                    giveOrDrop(player, kit.getChestplate().clone(), dropOnGround);
+                    giveOrDrop(player, chestplate, dropOnGround);
                 }
             }
-            if (kit.getLeggings() != null) {
+            if (leggings != null) {
                 if (inv.getLeggings() == null) {
-                    inv.setLeggings(kit.getLeggings().clone());
+                    inv.setLeggings(leggings);
                 } else {
-                    giveOrDrop(player, kit.getLeggings().clone(), dropOnGround);
+                    giveOrDrop(player, leggings, dropOnGround);
                 }
             }
-            if (kit.getBoots() != null) {
+            if (boots != null) {
                 if (inv.getBoots() == null) {
-                    inv.setBoots(kit.getBoots().clone());
+                    inv.setBoots(boots);
                 } else {
-                    giveOrDrop(player, kit.getBoots().clone(), dropOnGround);
+                    giveOrDrop(player, boots, dropOnGround);
                 }
             }
         } else {
-            if (kit.getHelmet() != null) giveOrDrop(player, kit.getHelmet().clone(), dropOnGround);
-            if (kit.getChestplate() != null) giveOrDrop(player, kit.getChestplate().clone(), dropOnGround);
-            if (kit.getLeggings() != null) giveOrDrop(player, kit.getLeggings().clone(), dropOnGround);
-            if (kit.getBoots() != null) giveOrDrop(player, kit.getBoots().clone(), dropOnGround);
+            if (helmet != null) giveOrDrop(player, helmet, dropOnGround);
+            if (chestplate != null) giveOrDrop(player, chestplate, dropOnGround);
+            if (leggings != null) giveOrDrop(player, leggings, dropOnGround);
+            if (boots != null) giveOrDrop(player, boots, dropOnGround);
         }
     }
     
@@ -331,7 +411,7 @@ public class KitCommand implements CommandExecutor {
     
     private boolean handleCreate(CommandSender sender, String[] args) {
         if (!sender.hasPermission("oakkits.admin.create")) {
-            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission", null));
+            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission"));
             return true;
         }
         
@@ -353,6 +433,11 @@ public class KitCommand implements CommandExecutor {
         String displayName = fullName.toString();
         String kitId = ColorUtil.stripColor(ColorUtil.colorize(displayName)).toLowerCase().replace(" ", "_");
         
+        if (!KitsManager.isValidId(kitId)) {
+            sender.sendMessage(ColorUtil.colorize("&cKit names may only contain letters a-z, numbers, '_' and '-'."));
+            return true;
+        }
+        
         MessagesManager msg = plugin.getMessagesManager();
         Map<String, String> placeholders = MessagesManager.of("kit", ColorUtil.colorize(displayName));
         
@@ -363,14 +448,14 @@ public class KitCommand implements CommandExecutor {
         
         plugin.getKitsManager().createKit(kitId, displayName, (Player) sender);
         sender.sendMessage(msg.getPrefix() + msg.getMessage("admin.kit-created", placeholders));
-        ActionBarUtil.sendActionBar((Player) sender, "&a✓ Kit &e" + displayName + " &acreated!");
+        plugin.getNotificationManager().sendConfirmation((Player) sender, "&a✓ Kit &e" + displayName + " &acreated!");
         
         return true;
     }
     
     private boolean handleDelete(CommandSender sender, String[] args) {
         if (!sender.hasPermission("oakkits.admin.delete")) {
-            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission", null));
+            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission"));
             return true;
         }
         
@@ -392,7 +477,7 @@ public class KitCommand implements CommandExecutor {
         sender.sendMessage(msg.getPrefix() + msg.getMessage("admin.kit-deleted", placeholders));
         
         if (sender instanceof Player) {
-            ActionBarUtil.sendActionBar((Player) sender, "&a✓ Kit deleted!");
+            plugin.getNotificationManager().sendConfirmation((Player) sender, "&a✓ Kit deleted!");
         }
         
         return true;
@@ -400,7 +485,7 @@ public class KitCommand implements CommandExecutor {
     
     private boolean handleGive(CommandSender sender, String[] args) {
         if (!sender.hasPermission("oakkits.admin.give")) {
-            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission", null));
+            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission"));
             return true;
         }
         
@@ -436,14 +521,14 @@ public class KitCommand implements CommandExecutor {
             MessagesManager.of("kit", kit.getDisplayName(), "player", target.getName())));
         target.sendMessage(formatForPlayer(target, msg.getPrefix() + msg.getMessage("admin.kit-given-target", 
             MessagesManager.of("kit", kit.getDisplayName()))));
-        ActionBarUtil.sendActionBar(target, formatForPlayer(target, "&a✓ " + ColorUtil.stripColor(kit.getDisplayName()) + " received!"));
+        plugin.getNotificationManager().sendConfirmation(target, formatForPlayer(target, "&a✓ " + ColorUtil.stripColor(kit.getDisplayName()) + " received!"));
         
         return true;
     }
     
     private boolean handleSetCooldown(CommandSender sender, String[] args) {
         if (!sender.hasPermission("oakkits.admin.setcooldown")) {
-            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission", null));
+            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission"));
             return true;
         }
         
@@ -468,7 +553,7 @@ public class KitCommand implements CommandExecutor {
             return true;
         }
         
-        kit.setCooldown(time);
+        kit = kit.toBuilder().cooldown(time).build();
         plugin.getKitsManager().saveKit(kit);
         
         sender.sendMessage(msg.getPrefix() + msg.getMessage("admin.cooldown-set", 
@@ -479,7 +564,7 @@ public class KitCommand implements CommandExecutor {
     
     private boolean handleSetCost(CommandSender sender, String[] args) {
         if (!sender.hasPermission("oakkits.admin.setcost")) {
-            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission", null));
+            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission"));
             return true;
         }
         
@@ -505,7 +590,7 @@ public class KitCommand implements CommandExecutor {
             return true;
         }
         
-        kit.setCost(cost);
+        kit = kit.toBuilder().cost(cost).build();
         plugin.getKitsManager().saveKit(kit);
         
         sender.sendMessage(msg.getPrefix() + msg.getMessage("admin.cost-set", 
@@ -516,7 +601,7 @@ public class KitCommand implements CommandExecutor {
     
     private boolean handleSetPermission(CommandSender sender, String[] args) {
         if (!sender.hasPermission("oakkits.admin.setpermission")) {
-            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission", null));
+            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission"));
             return true;
         }
         
@@ -535,7 +620,7 @@ public class KitCommand implements CommandExecutor {
             return true;
         }
         
-        kit.setPermission(permission);
+        kit = kit.toBuilder().permission(permission).build();
         plugin.getKitsManager().saveKit(kit);
         
         sender.sendMessage(msg.getPrefix() + msg.getMessage("admin.permission-set", 
@@ -544,9 +629,10 @@ public class KitCommand implements CommandExecutor {
         return true;
     }
     
+    @SuppressWarnings("deprecation")
     private boolean handleResetCooldown(CommandSender sender, String[] args) {
         if (!sender.hasPermission("oakkits.admin.resetcooldown")) {
-            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission", null));
+            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission"));
             return true;
         }
         
@@ -559,30 +645,44 @@ public class KitCommand implements CommandExecutor {
         String kitName = args[2].toLowerCase();
         MessagesManager msg = plugin.getMessagesManager();
         
-        Player target = Bukkit.getPlayer(playerName);
-        if (target == null) {
-            sender.sendMessage(msg.getPrefix() + msg.getMessage("admin.player-not-found", MessagesManager.of("player", playerName)));
-            return true;
-        }
-        
         Kit kit = plugin.getKitsManager().getKit(kitName);
         if (kit == null) {
             sender.sendMessage(msg.getChatMessage("kit-not-found", MessagesManager.of("kit", kitName)));
             return true;
         }
         
-        plugin.getDataManager().resetCooldown(target.getUniqueId(), kitName);
-        plugin.getDataManager().resetOneTime(target.getUniqueId(), kitName);
-        
-        sender.sendMessage(msg.getPrefix() + msg.getMessage("admin.cooldown-reset", 
-            MessagesManager.of("player", target.getName(), "kit", kit.getDisplayName())));
+        Player online = Bukkit.getPlayer(playerName);
+        if (online != null) {
+            resetKitFor(sender, online, playerName, kit);
+            return true;
+        }
         
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            OfflinePlayer offline = Bukkit.getOfflinePlayer(playerName);
+            OfflinePlayer target = offline.hasPlayedBefore() ? offline : null;
+            Bukkit.getScheduler().runTask(plugin, () -> resetKitFor(sender, target, playerName, kit));
+        });
         return true;
     }
     
+    private void resetKitFor(CommandSender sender, OfflinePlayer target, String playerName, Kit kit) {
+        MessagesManager msg = plugin.getMessagesManager();
+        if (target == null) {
+            sender.sendMessage(msg.getPrefix() + msg.getMessage("admin.player-not-found", MessagesManager.of("player", playerName)));
+            return;
+        }
+        
+        plugin.getDataManager().resetCooldown(target.getUniqueId(), kit.getId());
+        plugin.getDataManager().resetOneTime(target.getUniqueId(), kit.getId());
+        
+        String targetName = target.getName() != null ? target.getName() : playerName;
+        sender.sendMessage(msg.getPrefix() + msg.getMessage("admin.cooldown-reset", 
+            MessagesManager.of("player", targetName, "kit", kit.getDisplayName())));
+    }
+    
     private boolean handlePreview(CommandSender sender, String[] args) {
         if (!sender.hasPermission("oakkits.admin.preview")) {
-            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission", null));
+            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission"));
             return true;
         }
         
@@ -622,7 +722,7 @@ public class KitCommand implements CommandExecutor {
     
     private boolean handleEdit(CommandSender sender, String[] args) {
         if (!sender.hasPermission("oakkits.admin")) {
-            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission", null));
+            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission"));
             return true;
         }
         
@@ -653,26 +753,90 @@ public class KitCommand implements CommandExecutor {
         }
         
         plugin.getEditorGUIManager().openMainEditor(player, kit);
-        ActionBarUtil.sendActionBar(player, "&a✓ Opening editor for " + kit.getDisplayName());
+        plugin.getNotificationManager().sendConfirmation(player, "&a✓ Opening editor for " + kit.getDisplayName());
         
         return true;
     }
     
-    private boolean handleReload(CommandSender sender) {
+    private boolean handleReload(CommandSender sender, String[] args) {
         if (!sender.hasPermission("oakkits.admin.reload")) {
-            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission", null));
+            sender.sendMessage(plugin.getMessagesManager().getChatMessage("no-permission"));
             return true;
         }
         
-        plugin.reloadAllConfigs();
-        
-        sender.sendMessage(plugin.getMessagesManager().getPrefix() + 
-            plugin.getMessagesManager().getMessage("admin.config-reloaded"));
-        
-        if (sender instanceof Player) {
-            ActionBarUtil.sendActionBar((Player) sender, "&a✓ Configs reloaded!");
+        String target = args.length > 1 ? args[1].toLowerCase() : "all";
+        if (!OakKits.RELOAD_TARGETS.contains(target)) {
+            sender.sendMessage(ColorUtil.colorize("&cUsage: /kit reload <" + String.join("|", OakKits.RELOAD_TARGETS) + ">"));
+            return true;
         }
         
+        plugin.reload(target).whenComplete((ignored, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            MessagesManager msg = plugin.getMessagesManager();
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                sender.sendMessage(msg.getPrefix() + msg.getMessage("admin.reload-failed",
+                    MessagesManager.of("target", target, "error", String.valueOf(cause.getMessage()))));
+                return;
+            }
+            
+            if (target.equals("all")) {
+                sender.sendMessage(msg.getPrefix() + msg.getMessage("admin.config-reloaded"));
+            } else {
+                sender.sendMessage(msg.getPrefix() + msg.getMessage("admin.reloaded", MessagesManager.of("target", target)));
+            }
+            
+            if (sender instanceof Player) {
+                plugin.getNotificationManager().sendConfirmation((Player) sender, "&a✓ Reloaded " + target + "!");
+            }
+        }));
+        
         return true;
     }
+    
+    private static final class ClaimContext implements Function<String, String> {
+        
+        private Player player;
+        private String kitName;
+        private boolean mobile;
+        private String time;
+        private String cost;
+        private String balance;
+        private boolean broadcast;
+        private boolean inUse;
+        
+        private void begin(Player player, String kitName, boolean mobile) {
+            this.player = player;
+            this.kitName = kitName;
+            this.mobile = mobile;
+            this.inUse = true;
+        }
+        
+        private void end() {
+            player = null;
+            kitName = null;
+            time = null;
+            cost = null;
+            balance = null;
+            broadcast = false;
+            inUse = false;
+        }
+        
+        @Override
+        public String apply(String key) {
+            switch (key) {
+                case "kit":
+                    return kitName;
+                case "time":
+                    return time;
+                case "cost":
+                    return cost;
+                case "balance":
+                    return balance;
+                case "player":
+                    return broadcast ? player.getName() : null;
+                default:
+                    return null;
+            }
+        }
+    }
 }
@@ -109,6 +109,18 @@ public class KitTabCompleter implements TabCompleter {
                         return getKitCompletions(input);
                     }
                     break;
+                    
+                case "reload":
+                    if (args.length == 2 && sender.hasPermission("oakkits.admin.reload")) {
+                        return filterStartsWith(OakKits.RELOAD_TARGETS, input);
+                    }
+                    break;
+                    
+                case "list":
+                    if (args.length == 2) {
+                        return filterStartsWith(new ArrayList<>(plugin.getKitsManager().getCategories()), input);
+                    }
+                    break;
             }
         }
         
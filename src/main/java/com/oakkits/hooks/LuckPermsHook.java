@@ -0,0 +1,51 @@
+package com.oakkits.hooks;
+
+import com.oakkits.OakKits;
+
+import java.lang.reflect.Method;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public class LuckPermsHook {
+    
+    private final OakKits plugin;
+    private Method getUserMethod;
+    private Method getUniqueIdMethod;
+    
+    public LuckPermsHook(OakKits plugin) {
+        this.plugin = plugin;
+    }
+    
+    public boolean register() {
+        try {
+            Class<?> providerClass = Class.forName("net.luckperms.api.LuckPermsProvider");
+            Class<?> apiClass = Class.forName("net.luckperms.api.LuckPerms");
+            Class<?> eventBusClass = Class.forName("net.luckperms.api.event.EventBus");
+            Class<?> eventClass = Class.forName("net.luckperms.api.event.user.UserDataRecalculateEvent");
+            Class<?> userClass = Class.forName("net.luckperms.api.model.user.User");
+            
+            Object api = providerClass.getMethod("get").invoke(null);
+            Object eventBus = apiClass.getMethod("getEventBus").invoke(api);
+            getUserMethod = eventClass.getMethod("getUser");
+            getUniqueIdMethod = userClass.getMethod("getUniqueId");
+            
+            Consumer<Object> handler = this::onUserDataRecalculate;
+            eventBusClass.getMethod("subscribe", Object.class, Class.class, Consumer.class)
+                .invoke(eventBus, plugin, eventClass, handler);
+            return true;
+        } catch (Exception e) {
+            plugin.log("&eFailed to hook LuckPerms: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    private void onUserDataRecalculate(Object event) {
+        try {
+            Object user = getUserMethod.invoke(event);
+            UUID uuid = (UUID) getUniqueIdMethod.invoke(user);
+            plugin.getKitsManager().invalidateAccess(uuid);
+        } catch (Exception e) {
+            plugin.debug("Failed to handle LuckPerms update: " + e.getMessage());
+        }
+    }
+}
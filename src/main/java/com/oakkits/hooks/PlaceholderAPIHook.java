@@ -50,6 +50,18 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
             return String.valueOf(plugin.getKitsManager().getAvailableKits(player).size());
         }
         
+        if (params.startsWith("available_kits_")) {
+            return String.valueOf(plugin.getKitsManager().countAvailableKits(player, params.substring(15)));
+        }
+        
+        if (params.startsWith("category_kits_")) {
+            return String.valueOf(plugin.getKitsManager().countKitsByCategory(params.substring(14)));
+        }
+        
+        if (params.startsWith("tag_kits_")) {
+            return String.valueOf(plugin.getKitsManager().countKitsByTag(params.substring(9)));
+        }
+        
         if (params.startsWith("kit_")) {
             String[] parts = params.substring(4).split("_", 2);
             if (parts.length < 2) return "";
@@ -60,7 +72,13 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
             Kit kit = plugin.getKitsManager().getKit(kitId);
             if (kit == null) return "";
             
-            switch (property.toLowerCase()) {
+            String key = property.toLowerCase();
+            boolean needsData = key.equals("cooldown") || key.equals("available") || key.equals("on_cooldown");
+            if (needsData && !plugin.getDataManager().ensureLoaded(player.getUniqueId())) {
+                return "Loading";
+            }
+            
+            switch (key) {
                 case "cooldown":
                     long remaining = plugin.getDataManager().getRemainingCooldown(player.getUniqueId(), kitId);
                     return remaining > 0 ? TimeUtil.formatTime(remaining) : "Ready";
@@ -69,7 +87,7 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
                 case "permission":
                     return kit.getPermission();
                 case "available":
-                    if (!player.hasPermission(kit.getPermission())) return "No";
+                    if (!plugin.getKitsManager().canAccess(player, kit)) return "No";
                     if (kit.isOneTime() && plugin.getDataManager().hasUsedOneTime(player.getUniqueId(), kitId)) return "No";
                     if (plugin.getDataManager().isOnCooldown(player.getUniqueId(), kitId)) return "No";
                     return "Yes";
@@ -78,11 +96,11 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
                 case "onetime":
                     return kit.isOneTime() ? "Yes" : "No";
                 case "has_permission":
-                    return player.hasPermission(kit.getPermission()) ? "Yes" : "No";
+                    return plugin.getKitsManager().canAccess(player, kit) ? "Yes" : "No";
                 case "on_cooldown":
                     return plugin.getDataManager().isOnCooldown(player.getUniqueId(), kitId) ? "Yes" : "No";
                 case "items_count":
-                    return String.valueOf(kit.getItems().size());
+                    return String.valueOf(kit.getItemCount());
                 case "commands_count":
                     return String.valueOf(kit.getCommands().size());
             }
@@ -3,7 +3,6 @@ package com.oakkits.listeners;
 import com.oakkits.OakKits;
 import com.oakkits.managers.EditorGUIManager;
 import com.oakkits.models.Kit;
-import com.oakkits.utils.ActionBarUtil;
 import com.oakkits.utils.ColorUtil;
 import com.oakkits.utils.TimeUtil;
 import org.bukkit.Bukkit;
@@ -158,16 +157,16 @@ public class EditorGUIListener implements Listener {
                 editor.openDisplayNameEditor(player, kit);
                 break;
             case 34:
-                kit.setOneTime(!kit.isOneTime());
+                kit = kit.toBuilder().oneTime(!kit.isOneTime()).build();
                 plugin.getKitsManager().saveKit(kit);
                 player.sendMessage(ColorUtil.colorize("&aOne-time use: " + (kit.isOneTime() ? "&aON" : "&cOFF")));
-                ActionBarUtil.sendActionBar(player, "&aOne-time: " + (kit.isOneTime() ? "ON" : "OFF"));
+                plugin.getNotificationManager().sendConfirmation(player, "&aOne-time: " + (kit.isOneTime() ? "ON" : "OFF"));
                 editor.openMainEditor(player, kit);
                 break;
             case 40:
                 plugin.getKitsManager().saveKit(kit);
                 player.sendMessage(ColorUtil.colorize("&a✓ Kit saved successfully!"));
-                ActionBarUtil.sendActionBar(player, "&a✓ Kit saved!");
+                plugin.getNotificationManager().sendConfirmation(player, "&a✓ Kit saved!");
                 player.closeInventory();
                 break;
             case 44:
@@ -181,23 +180,24 @@ public class EditorGUIListener implements Listener {
         
         switch (slot) {
             case 45:
-                kit.getItems().clear();
+                Kit.Builder imported = kit.toBuilder().clearItems();
                 for (int i = 0; i < 36; i++) {
                     ItemStack item = player.getInventory().getItem(i);
                     if (item != null && item.getType() != Material.AIR) {
-                        kit.addItem(item.clone());
+                        imported.addItem(item);
                     }
                 }
+                kit = imported.build();
                 plugin.getKitsManager().saveKit(kit);
                 player.sendMessage(ColorUtil.colorize("&aItems imported from inventory!"));
-                ActionBarUtil.sendActionBar(player, "&a✓ Items imported!");
+                plugin.getNotificationManager().sendConfirmation(player, "&a✓ Items imported!");
                 editor.openItemsEditor(player, kit);
                 break;
             case 49:
-                kit.getItems().clear();
+                kit = kit.toBuilder().clearItems().build();
                 plugin.getKitsManager().saveKit(kit);
                 player.sendMessage(ColorUtil.colorize("&cAll items cleared!"));
-                ActionBarUtil.sendActionBar(player, "&c✓ Items cleared!");
+                plugin.getNotificationManager().sendConfirmation(player, "&c✓ Items cleared!");
                 editor.openItemsEditor(player, kit);
                 break;
             case 53:
@@ -211,24 +211,22 @@ public class EditorGUIListener implements Listener {
         
         switch (slot) {
             case 15:
-                if (player.getInventory().getHelmet() != null)
-                    kit.setArmorPiece("helmet", player.getInventory().getHelmet().clone());
-                if (player.getInventory().getChestplate() != null)
-                    kit.setArmorPiece("chestplate", player.getInventory().getChestplate().clone());
-                if (player.getInventory().getLeggings() != null)
-                    kit.setArmorPiece("leggings", player.getInventory().getLeggings().clone());
-                if (player.getInventory().getBoots() != null)
-                    kit.setArmorPiece("boots", player.getInventory().getBoots().clone());
+                kit = kit.toBuilder()
+                    .armorPiece("helmet", player.getInventory().getHelmet())
+                    .armorPiece("chestplate", player.getInventory().getChestplate())
+                    .armorPiece("leggings", player.getInventory().getLeggings())
+                    .armorPiece("boots", player.getInventory().getBoots())
+                    .build();
                 plugin.getKitsManager().saveKit(kit);
                 player.sendMessage(ColorUtil.colorize("&aArmor imported!"));
-                ActionBarUtil.sendActionBar(player, "&a✓ Armor imported!");
+                plugin.getNotificationManager().sendConfirmation(player, "&a✓ Armor imported!");
                 editor.openArmorEditor(player, kit);
                 break;
             case 16:
-                kit.getArmor().clear();
+                kit = kit.toBuilder().clearArmor().build();
                 plugin.getKitsManager().saveKit(kit);
                 player.sendMessage(ColorUtil.colorize("&cArmor cleared!"));
-                ActionBarUtil.sendActionBar(player, "&c✓ Armor cleared!");
+                plugin.getNotificationManager().sendConfirmation(player, "&c✓ Armor cleared!");
                 editor.openArmorEditor(player, kit);
                 break;
             case 22:
@@ -247,12 +245,12 @@ public class EditorGUIListener implements Listener {
         }
         
         if (slot == editor.getCooldownResetSlot()) {
-            kit.setCooldown("0");
+            kit = kit.toBuilder().cooldown(0L).build();
             plugin.getKitsManager().saveKit(kit);
             String msg = editor.getMessage("cooldown-reset");
             if (msg.isEmpty()) msg = "&a✓ Cooldown reset to 0!";
             player.sendMessage(ColorUtil.colorize(msg));
-            ActionBarUtil.sendActionBar(player, "&a✓ Cooldown: 0");
+            plugin.getNotificationManager().sendConfirmation(player, "&a✓ Cooldown: 0");
             editor.openCooldownEditor(player, kit);
             return;
         }
@@ -261,13 +259,13 @@ public class EditorGUIListener implements Listener {
         if (change == 0) return;
         
         long newCooldown = Math.max(0, currentCooldown + change);
-        kit.setCooldownRaw(newCooldown);
+        kit = kit.toBuilder().cooldown(newCooldown).build();
         plugin.getKitsManager().saveKit(kit);
         
         String msg = editor.getMessage("cooldown-updated");
         if (msg.isEmpty()) msg = "&a✓ Cooldown: {cooldown}";
         player.sendMessage(ColorUtil.colorize(msg.replace("{cooldown}", kit.getFormattedCooldown())));
-        ActionBarUtil.sendActionBar(player, "&a✓ " + kit.getFormattedCooldown());
+        plugin.getNotificationManager().sendConfirmation(player, "&a✓ " + kit.getFormattedCooldown());
         editor.openCooldownEditor(player, kit);
     }
     
@@ -281,12 +279,12 @@ public class EditorGUIListener implements Listener {
         }
         
         if (slot == editor.getCostFreeSlot()) {
-            kit.setCost(0);
+            kit = kit.toBuilder().cost(0).build();
             plugin.getKitsManager().saveKit(kit);
             String msg = editor.getMessage("cost-free");
             if (msg.isEmpty()) msg = "&a✓ Kit is now free!";
             player.sendMessage(ColorUtil.colorize(msg));
-            ActionBarUtil.sendActionBar(player, "&a✓ Cost: $0");
+            plugin.getNotificationManager().sendConfirmation(player, "&a✓ Cost: $0");
             editor.openCostEditor(player, kit);
             return;
         }
@@ -295,13 +293,13 @@ public class EditorGUIListener implements Listener {
         if (change == 0) return;
         
         double newCost = Math.max(0, currentCost + change);
-        kit.setCost(newCost);
+        kit = kit.toBuilder().cost(newCost).build();
         plugin.getKitsManager().saveKit(kit);
         
         String msg = editor.getMessage("cost-updated");
         if (msg.isEmpty()) msg = "&a✓ Cost: ${cost}";
         player.sendMessage(ColorUtil.colorize(msg.replace("{cost}", String.valueOf((int) newCost))));
-        ActionBarUtil.sendActionBar(player, "&a✓ $" + (int) newCost);
+        plugin.getNotificationManager().sendConfirmation(player, "&a✓ $" + (int) newCost);
         editor.openCostEditor(player, kit);
     }
     
@@ -325,11 +323,10 @@ public class EditorGUIListener implements Listener {
         
         String colorCode = getColorFromSlot(slot);
         if (colorCode != null) {
-            String current = kit.getDisplayName();
-            kit.setDisplayName(current + colorCode);
+            kit = kit.toBuilder().displayName(kit.getDisplayName() + colorCode).build();
             plugin.getKitsManager().saveKit(kit);
             player.sendMessage(ColorUtil.colorize("&7Added: " + colorCode + colorCode.replace("&", "")));
-            ActionBarUtil.sendActionBar(player, "&a✓ " + ColorUtil.colorize(kit.getDisplayName()));
+            plugin.getNotificationManager().sendConfirmation(player, "&a✓ " + ColorUtil.colorize(kit.getDisplayName()));
             editor.openDisplayNameEditor(player, kit);
         }
     }
@@ -338,12 +335,12 @@ public class EditorGUIListener implements Listener {
         EditorGUIManager editor = plugin.getEditorGUIManager();
         
         if (slot == editor.getPermissionPublicSlot()) {
-            kit.setPermission("");
+            kit = kit.toBuilder().permission("").build();
             plugin.getKitsManager().saveKit(kit);
             String msg = editor.getMessage("permission-public");
             if (msg.isEmpty()) msg = "&a✓ Kit is now public!";
             player.sendMessage(ColorUtil.colorize(msg));
-            ActionBarUtil.sendActionBar(player, "&a✓ Public kit!");
+            plugin.getNotificationManager().sendConfirmation(player, "&a✓ Public kit!");
             editor.openPermissionEditor(player, kit);
             return;
         }
@@ -359,12 +356,12 @@ public class EditorGUIListener implements Listener {
         }
         
         if (slot == editor.getPermissionResetSlot()) {
-            kit.setPermission("oakkits.kit." + kit.getId());
+            kit = kit.toBuilder().permission("oakkits.kit." + kit.getId()).build();
             plugin.getKitsManager().saveKit(kit);
             String msg = editor.getMessage("permission-reset");
             if (msg.isEmpty()) msg = "&a✓ Permission reset to default!";
             player.sendMessage(ColorUtil.colorize(msg));
-            ActionBarUtil.sendActionBar(player, "&a✓ Permission reset!");
+            plugin.getNotificationManager().sendConfirmation(player, "&a✓ Permission reset!");
             editor.openPermissionEditor(player, kit);
             return;
         }
@@ -385,10 +382,10 @@ public class EditorGUIListener implements Listener {
         }
         
         if (slot == 50) {
-            kit.getCommands().clear();
+            kit = kit.toBuilder().commands(null).build();
             plugin.getKitsManager().saveKit(kit);
             player.sendMessage(ColorUtil.colorize("&cAll commands cleared!"));
-            ActionBarUtil.sendActionBar(player, "&c✓ Commands cleared!");
+            plugin.getNotificationManager().sendConfirmation(player, "&c✓ Commands cleared!");
             editor.openCommandsEditor(player, kit);
             return;
         }
@@ -400,10 +397,11 @@ public class EditorGUIListener implements Listener {
         
         int cmdIndex = getCommandIndex(slot);
         if (cmdIndex >= 0 && cmdIndex < kit.getCommands().size()) {
-            String removed = kit.getCommands().remove(cmdIndex);
+            String removed = kit.getCommands().get(cmdIndex);
+            kit = kit.toBuilder().removeCommand(cmdIndex).build();
             plugin.getKitsManager().saveKit(kit);
             player.sendMessage(ColorUtil.colorize("&cRemoved command: /" + removed));
-            ActionBarUtil.sendActionBar(player, "&c✓ Command removed!");
+            plugin.getNotificationManager().sendConfirmation(player, "&c✓ Command removed!");
             editor.openCommandsEditor(player, kit);
         }
     }
@@ -465,34 +463,36 @@ public class EditorGUIListener implements Listener {
             return;
         }
         
-        Kit kit = plugin.getKitsManager().getKit(kitId);
-        if (kit == null) {
+        if (!plugin.getKitsManager().kitExists(kitId)) {
             player.sendMessage(ColorUtil.colorize("&cKit not found!"));
             return;
         }
         
         Bukkit.getScheduler().runTask(plugin, () -> {
+            Kit kit = plugin.getKitsManager().getKit(kitId);
+            if (kit == null) return;
+            
             switch (inputType) {
                 case "displayname":
-                    kit.setDisplayName(input);
+                    kit = kit.toBuilder().displayName(input).build();
                     plugin.getKitsManager().saveKit(kit);
                     player.sendMessage(ColorUtil.colorize("&aDisplay name set to: " + input));
                     player.sendMessage(ColorUtil.colorize("&7Preview: " + ColorUtil.colorize(input)));
-                    ActionBarUtil.sendActionBar(player, "&a✓ " + ColorUtil.colorize(input));
+                    plugin.getNotificationManager().sendConfirmation(player, "&a✓ " + ColorUtil.colorize(input));
                     editor.openDisplayNameEditor(player, kit);
                     break;
                 case "permission":
-                    kit.setPermission(input);
+                    kit = kit.toBuilder().permission(input).build();
                     plugin.getKitsManager().saveKit(kit);
                     player.sendMessage(ColorUtil.colorize("&aPermission set to: " + input));
-                    ActionBarUtil.sendActionBar(player, "&a✓ Permission saved!");
+                    plugin.getNotificationManager().sendConfirmation(player, "&a✓ Permission saved!");
                     editor.openPermissionEditor(player, kit);
                     break;
                 case "command":
-                    kit.getCommands().add(input);
+                    kit = kit.toBuilder().addCommand(input).build();
                     plugin.getKitsManager().saveKit(kit);
                     player.sendMessage(ColorUtil.colorize("&aCommand added: /" + input));
-                    ActionBarUtil.sendActionBar(player, "&a✓ Command added!");
+                    plugin.getNotificationManager().sendConfirmation(player, "&a✓ Command added!");
                     editor.openCommandsEditor(player, kit);
                     break;
             }
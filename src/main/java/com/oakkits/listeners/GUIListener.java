@@ -1,7 +1,6 @@
 package com.oakkits.listeners;
 
 import com.oakkits.OakKits;
-import com.oakkits.utils.ActionBarUtil;
 import com.oakkits.utils.ColorUtil;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -35,7 +34,7 @@ public class GUIListener implements Listener {
         }
         
         String message = plugin.getMessagesManager().getMessage("preview.cannot-take");
-        ActionBarUtil.sendActionBar(player, message);
+        plugin.getNotificationManager().sendActionBar(player, message);
     }
     
     @EventHandler(priority = EventPriority.HIGHEST)
@@ -0,0 +1,45 @@
+package com.oakkits.listeners;
+
+import com.oakkits.OakKits;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+public class PlayerDataListener implements Listener {
+    
+    private final OakKits plugin;
+    
+    public PlayerDataListener(OakKits plugin) {
+        this.plugin = plugin;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+        
+        plugin.getDataManager().loadPlayer(event.getUniqueId());
+    }
+    
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        plugin.getDataManager().handleJoin(event.getPlayer().getUniqueId());
+        plugin.getKitsManager().refreshAccess(event.getPlayer());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        plugin.getKitsManager().invalidateAccess(event.getPlayer().getUniqueId());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        plugin.getDataManager().handleQuit(event.getPlayer().getUniqueId());
+        plugin.getKitsManager().invalidateAccess(event.getPlayer().getUniqueId());
+        plugin.getBedrockManager().forgetPlayer(event.getPlayer().getUniqueId());
+        plugin.getNotificationManager().forgetPlayer(event.getPlayer().getUniqueId());
+    }
+}
@@ -9,7 +9,9 @@ import org.bukkit.entity.Player;
 
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class BedrockManager {
     
@@ -18,6 +20,7 @@ public class BedrockManager {
     private Object floodgateApi;
     private Method isFloodgatePlayerMethod;
     private Method sendFormMethod;
+    private final Map<UUID, Boolean> sessions = new ConcurrentHashMap<>();
     
     private boolean bedrockEnabled;
     private boolean useForms;
@@ -68,6 +71,7 @@ public class BedrockManager {
     }
     
     public void reload() {
+        sessions.clear();
         loadConfig();
         setupFloodgate();
     }
@@ -79,11 +83,24 @@ public class BedrockManager {
     public boolean isBedrockPlayer(Player player) {
         if (!floodgateEnabled || player == null) return false;
         
+        UUID uuid = player.getUniqueId();
+        Boolean cached = sessions.get(uuid);
+        if (cached != null) return cached;
+        
+        boolean bedrock;
         try {
-            return (boolean) isFloodgatePlayerMethod.invoke(floodgateApi, player.getUniqueId());
+            bedrock = (boolean) isFloodgatePlayerMethod.invoke(floodgateApi, uuid);
         } catch (Exception e) {
             return false;
         }
+        if (player.isOnline()) {
+            sessions.put(uuid, bedrock);
+        }
+        return bedrock;
+    }
+    
+    public void forgetPlayer(UUID uuid) {
+        sessions.remove(uuid);
     }
     
     public boolean shouldUseForms() {
@@ -250,8 +267,16 @@ public class BedrockManager {
         }
     }
     
+    public boolean isMobileFriendly(Player player) {
+        return mobileFriendlyMessages && isBedrockPlayer(player);
+    }
+    
     public String getMobileFriendlyMessage(String message) {
         if (!mobileFriendlyMessages) return message;
+        return toMobileFriendly(message);
+    }
+    
+    public static String toMobileFriendly(String message) {
         return message
             .replace("━", "-")
             .replace("✦", "*")
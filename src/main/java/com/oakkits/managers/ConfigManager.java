@@ -6,9 +6,14 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.List;
 
 public class ConfigManager {
     
+    private static final List<String> SQLITE_JOURNAL_MODES = Arrays.asList("DELETE", "TRUNCATE", "PERSIST", "MEMORY", "WAL", "OFF");
+    private static final List<String> SQLITE_SYNCHRONOUS_MODES = Arrays.asList("OFF", "NORMAL", "FULL", "EXTRA");
+    
     private final OakKits plugin;
     private FileConfiguration config;
     
@@ -32,9 +37,12 @@ public class ConfigManager {
     private boolean titleEnabled;
     private int titleFadeIn;
     private int titleStay;
+    private long notificationRepeatDelay;
     private int titleFadeOut;
     private boolean broadcastEnabled;
     private double broadcastMinCost;
+    private boolean kitReadyEnabled;
+    private long permissionCacheMillis;
     
     private boolean coloredConsole;
     private boolean debug;
@@ -42,11 +50,39 @@ public class ConfigManager {
     
     private boolean autoSaveEnabled;
     private int autoSaveInterval;
+    private long kitSaveDelay;
+    private boolean watchKitFiles;
+    private long kitWatchDelay;
+    
+    private String storageType;
+    private int writeQueueSize;
+    private String sqliteJournalMode;
+    private String sqliteSynchronous;
+    private int sqliteMmapSizeMb;
+    private int sqliteCacheSizeMb;
+    private String mysqlHost;
+    private int mysqlPort;
+    private String mysqlDatabase;
+    private String mysqlUsername;
+    private String mysqlPassword;
+    private String mysqlTablePrefix;
+    private boolean mysqlUseSsl;
+    private int mysqlPoolSize;
+    private int mysqlMinIdle;
+    private long mysqlConnectionTimeout;
+    private long mysqlMaxLifetime;
+    private boolean offHeapEnabled;
+    private boolean journalEnabled;
+    private boolean journalFsync;
+    private long journalCompactSize;
+    private int journalCompactInterval;
+    private int offHeapInitialCapacity;
     
     private boolean checkUpdates;
     private boolean guiEnabled;
     private String defaultCooldown;
     private double defaultCost;
+    private int listPageSize;
     
     public ConfigManager(OakKits plugin) {
         this.plugin = plugin;
@@ -54,12 +90,20 @@ public class ConfigManager {
     }
     
     public void loadConfig() {
+        applyConfig(readConfig());
+    }
+    
+    public FileConfiguration readConfig() {
         File configFile = new File(plugin.getDataFolder(), "config.yml");
         if (!configFile.exists()) {
             plugin.saveResource("config.yml", false);
         }
         
-        config = YamlConfiguration.loadConfiguration(configFile);
+        return YamlConfiguration.loadConfiguration(configFile);
+    }
+    
+    public void applyConfig(FileConfiguration config) {
+        this.config = config;
         
         denyIfFull = config.getBoolean("inventory.deny-if-full", false);
         dropOnGround = config.getBoolean("inventory.drop-on-ground", true);
@@ -89,6 +133,9 @@ public class ConfigManager {
         titleFadeOut = config.getInt("notifications.title.fade-out", 10);
         broadcastEnabled = config.getBoolean("notifications.broadcast.enabled", false);
         broadcastMinCost = config.getDouble("notifications.broadcast.min-cost", 1000);
+        kitReadyEnabled = config.getBoolean("notifications.kit-ready.enabled", false);
+        notificationRepeatDelay = Math.max(0, config.getLong("notifications.repeat-delay", 1000));
+        permissionCacheMillis = Math.max(0, config.getInt("permissions.cache-seconds", 30)) * 1000L;
         
         coloredConsole = config.getBoolean("console.colored", true);
         debug = config.getBoolean("console.debug", false);
@@ -96,11 +143,47 @@ public class ConfigManager {
         
         autoSaveEnabled = config.getBoolean("auto-save.enabled", true);
         autoSaveInterval = config.getInt("auto-save.interval", 5);
+        kitSaveDelay = Math.max(0L, config.getLong("auto-save.kit-save-delay", 1000L));
+        watchKitFiles = config.getBoolean("auto-save.watch-kit-files", true);
+        kitWatchDelay = Math.max(50L, config.getLong("auto-save.kit-watch-delay", 500L));
+        
+        storageType = config.getString("storage.type", "sqlite").toLowerCase();
+        writeQueueSize = Math.max(64, config.getInt("storage.write-queue-size", 8192));
+        sqliteJournalMode = getOption(config, "storage.sqlite.journal-mode", "WAL", SQLITE_JOURNAL_MODES);
+        sqliteSynchronous = getOption(config, "storage.sqlite.synchronous", "NORMAL", SQLITE_SYNCHRONOUS_MODES);
+        sqliteMmapSizeMb = Math.max(0, config.getInt("storage.sqlite.mmap-size-mb", 64));
+        sqliteCacheSizeMb = Math.max(1, config.getInt("storage.sqlite.cache-size-mb", 16));
+        mysqlHost = config.getString("storage.mysql.host", "localhost");
+        mysqlPort = config.getInt("storage.mysql.port", 3306);
+        mysqlDatabase = config.getString("storage.mysql.database", "oakkits");
+        mysqlUsername = config.getString("storage.mysql.username", "root");
+        mysqlPassword = config.getString("storage.mysql.password", "");
+        mysqlTablePrefix = config.getString("storage.mysql.table-prefix", "oakkits_");
+        mysqlUseSsl = config.getBoolean("storage.mysql.use-ssl", false);
+        mysqlPoolSize = Math.max(1, config.getInt("storage.mysql.pool.maximum-pool-size", 10));
+        mysqlMinIdle = Math.max(0, Math.min(mysqlPoolSize, config.getInt("storage.mysql.pool.minimum-idle", 2)));
+        mysqlConnectionTimeout = Math.max(250L, config.getLong("storage.mysql.pool.connection-timeout", 5000L));
+        mysqlMaxLifetime = Math.max(30000L, config.getLong("storage.mysql.pool.max-lifetime", 1800000L));
+        journalEnabled = config.getBoolean("storage.journal.enabled", true);
+        journalFsync = config.getBoolean("storage.journal.fsync", false);
+        journalCompactSize = Math.max(64, config.getInt("storage.journal.compact-size-kb", 4096)) * 1024L;
+        journalCompactInterval = Math.max(10, config.getInt("storage.journal.compact-interval", 300));
+        offHeapEnabled = config.getBoolean("storage.offheap.enabled", false);
+        offHeapInitialCapacity = Math.max(1024, config.getInt("storage.offheap.initial-capacity", 1048576));
         
         checkUpdates = config.getBoolean("misc.check-updates", true);
         guiEnabled = config.getBoolean("misc.gui-enabled", true);
         defaultCooldown = config.getString("misc.default-cooldown", "0");
         defaultCost = config.getDouble("misc.default-cost", 0);
+        listPageSize = Math.max(1, config.getInt("misc.list-page-size", 10));
+    }
+    
+    private String getOption(FileConfiguration config, String path, String def, List<String> allowed) {
+        String value = config.getString(path, def).trim().toUpperCase();
+        if (allowed.contains(value)) return value;
+        
+        plugin.log("&eInvalid value '" + value + "' for " + path + ", using " + def + " (allowed: " + String.join(", ", allowed) + ")");
+        return def;
     }
     
     public void reload() {
@@ -187,6 +270,18 @@ public class ConfigManager {
         return broadcastMinCost;
     }
     
+    public boolean isKitReadyEnabled() {
+        return kitReadyEnabled;
+    }
+    
+    public long getNotificationRepeatDelay() {
+        return notificationRepeatDelay;
+    }
+    
+    public long getPermissionCacheMillis() {
+        return permissionCacheMillis;
+    }
+    
     public boolean isColoredConsole() {
         return coloredConsole;
     }
@@ -207,6 +302,110 @@ public class ConfigManager {
         return autoSaveInterval;
     }
     
+    public long getKitSaveDelay() {
+        return kitSaveDelay;
+    }
+    
+    public boolean isWatchKitFiles() {
+        return watchKitFiles;
+    }
+    
+    public long getKitWatchDelay() {
+        return kitWatchDelay;
+    }
+    
+    public String getStorageType() {
+        return storageType;
+    }
+    
+    public int getWriteQueueSize() {
+        return writeQueueSize;
+    }
+    
+    public String getSqliteJournalMode() {
+        return sqliteJournalMode;
+    }
+    
+    public String getSqliteSynchronous() {
+        return sqliteSynchronous;
+    }
+    
+    public int getSqliteMmapSizeMb() {
+        return sqliteMmapSizeMb;
+    }
+    
+    public int getSqliteCacheSizeMb() {
+        return sqliteCacheSizeMb;
+    }
+    
+    public String getMysqlHost() {
+        return mysqlHost;
+    }
+    
+    public int getMysqlPort() {
+        return mysqlPort;
+    }
+    
+    public String getMysqlDatabase() {
+        return mysqlDatabase;
+    }
+    
+    public String getMysqlUsername() {
+        return mysqlUsername;
+    }
+    
+    public String getMysqlPassword() {
+        return mysqlPassword;
+    }
+    
+    public String getMysqlTablePrefix() {
+        return mysqlTablePrefix;
+    }
+    
+    public boolean isMysqlUseSsl() {
+        return mysqlUseSsl;
+    }
+    
+    public int getMysqlPoolSize() {
+        return mysqlPoolSize;
+    }
+    
+    public int getMysqlMinIdle() {
+        return mysqlMinIdle;
+    }
+    
+    public long getMysqlConnectionTimeout() {
+        return mysqlConnectionTimeout;
+    }
+    
+    public long getMysqlMaxLifetime() {
+        return mysqlMaxLifetime;
+    }
+    
+    public boolean isJournalEnabled() {
+        return journalEnabled;
+    }
+    
+    public boolean isJournalFsync() {
+        return journalFsync;
+    }
+    
+    public long getJournalCompactSize() {
+        return journalCompactSize;
+    }
+    
+    public int getJournalCompactInterval() {
+        return journalCompactInterval;
+    }
+    
+    public boolean isOffHeapEnabled() {
+        return offHeapEnabled;
+    }
+    
+    public int getOffHeapInitialCapacity() {
+        return offHeapInitialCapacity;
+    }
+    
     public boolean isCheckUpdates() {
         return checkUpdates;
     }
@@ -223,6 +422,10 @@ public class ConfigManager {
         return defaultCost;
     }
     
+    public int getListPageSize() {
+        return listPageSize;
+    }
+    
     public FileConfiguration getConfig() {
         return config;
     }
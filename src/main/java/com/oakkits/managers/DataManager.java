@@ -1,208 +1,576 @@
 package com.oakkits.managers;
 
 import com.oakkits.OakKits;
+import com.oakkits.models.Kit;
+import com.oakkits.storage.DatabaseWriter;
+import com.oakkits.storage.ExpiryQueue;
+import com.oakkits.storage.H2StorageBackend;
+import com.oakkits.storage.Mutation;
+import com.oakkits.storage.MutationJournal;
+import com.oakkits.storage.MySQLStorageBackend;
+import com.oakkits.storage.OffHeapCooldownTable;
+import com.oakkits.storage.PlayerRecord;
+import com.oakkits.storage.SQLiteStorageBackend;
+import com.oakkits.storage.StorageBackend;
 import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
-import java.sql.*;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 public class DataManager {
     
     private final OakKits plugin;
-    private Connection connection;
-    private final Object dbLock = new Object();
+    private StorageBackend backend;
+    private DatabaseWriter writer;
+    private BukkitTask expiryTask;
+    private OffHeapCooldownTable offHeapTable;
+    private MutationJournal journal;
+    private BukkitTask compactTask;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final Object journalLock = new Object();
+    private final AtomicReference<Set<UUID>> reloading = new AtomicReference<>();
+    private volatile boolean offHeapReady;
+    private ExecutorService offHeapExecutor;
     
-    private final Map<UUID, Map<String, Long>> cooldowns = new ConcurrentHashMap<>();
-    private final Map<UUID, Map<String, Boolean>> oneTimeUsed = new ConcurrentHashMap<>();
+    private final ExpiryQueue expiryQueue = new ExpiryQueue();
+    private volatile int compactThreshold = MIN_COMPACT_THRESHOLD;
     
-    private final AtomicBoolean saveScheduled = new AtomicBoolean(false);
-    private BukkitTask saveTask;
-    private static final long SAVE_DELAY_TICKS = 100L;
+    private final Map<UUID, PlayerRecord> records = new ConcurrentHashMap<>();
+    
+    private final Set<UUID> onlinePlayers = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> loading = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Boolean> offlineCache = new LinkedHashMap<UUID, Boolean>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+            if (size() <= OFFLINE_CACHE_SIZE) return false;
+            if (!onlinePlayers.contains(eldest.getKey())) {
+                evict(eldest.getKey());
+            }
+            return true;
+        }
+    };
+    
+    private static final int OFFLINE_CACHE_SIZE = 256;
+    private static final long FLUSH_TIMEOUT_MS = 10000L;
+    private static final long EXPIRY_TICK_INTERVAL = 20L;
+    private static final int MIN_COMPACT_THRESHOLD = 1024;
+    private static final String OFFHEAP_FILE = "cooldowns.table";
     
     public DataManager(OakKits plugin) {
         this.plugin = plugin;
         initDatabase();
-        loadData();
+        loadOnlinePlayers();
+        expiryTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::expireDueCooldowns,
+            EXPIRY_TICK_INTERVAL, EXPIRY_TICK_INTERVAL);
     }
     
     private void initDatabase() {
-        synchronized (dbLock) {
+        StorageBackend candidate = createBackend(plugin.getConfigManager().getStorageType());
+        try {
+            candidate.init();
+        } catch (SQLException | RuntimeException | LinkageError e) {
+            plugin.log("&cFailed to initialize " + candidate.getName() + " storage: " + e.getMessage());
+            candidate.close();
+            return;
+        }
+        
+        backend = candidate;
+        writer = new DatabaseWriter(plugin, backend, plugin.getConfigManager().getWriteQueueSize());
+        writer.start();
+        
+        plugin.log("&a" + backend.getName() + " storage initialized!");
+        
+        if (plugin.getConfigManager().isJournalEnabled()) {
+            openJournal();
+        }
+        
+        if (plugin.getConfigManager().isOffHeapEnabled()) {
+            openOffHeapTable();
+        } else {
             try {
-                File dbFile = new File(plugin.getDataFolder(), "data.db");
-                String url = "jdbc:sqlite:" + dbFile.getAbsolutePath();
-                connection = DriverManager.getConnection(url);
-                
-                try (Statement stmt = connection.createStatement()) {
-                    stmt.execute("CREATE TABLE IF NOT EXISTS cooldowns (" +
-                        "uuid TEXT NOT NULL, " +
-                        "kit_id TEXT NOT NULL, " +
-                        "end_time INTEGER NOT NULL, " +
-                        "PRIMARY KEY (uuid, kit_id)" +
-                        ")");
-                    
-                    stmt.execute("CREATE TABLE IF NOT EXISTS one_time (" +
-                        "uuid TEXT NOT NULL, " +
-                        "kit_id TEXT NOT NULL, " +
-                        "used INTEGER NOT NULL DEFAULT 1, " +
-                        "PRIMARY KEY (uuid, kit_id)" +
-                        ")");
-                    
-                    stmt.execute("CREATE INDEX IF NOT EXISTS idx_cooldowns_kit ON cooldowns(kit_id)");
-                    stmt.execute("CREATE INDEX IF NOT EXISTS idx_onetime_kit ON one_time(kit_id)");
-                }
-                
-                plugin.log("&aSQLite database initialized!");
-            } catch (SQLException e) {
-                plugin.log("&cFailed to initialize SQLite: " + e.getMessage());
+                OffHeapCooldownTable.discard(new File(plugin.getDataFolder(), OFFHEAP_FILE));
+            } catch (IOException e) {
+                plugin.log("&cFailed to remove stale off-heap cooldown table: " + e.getMessage());
             }
         }
     }
     
-    public void loadData() {
-        cooldowns.clear();
-        oneTimeUsed.clear();
+    private void openJournal() {
+        MutationJournal candidate = new MutationJournal(new File(plugin.getDataFolder(), "journal"),
+            plugin.getConfigManager().isJournalFsync());
+        try {
+            candidate.open();
+            int replayed = candidate.replay(writer::submit);
+            if (replayed > 0) {
+                plugin.log("&eReplayed &6" + replayed + " &eunsaved changes from the journal");
+            }
+        } catch (IOException e) {
+            plugin.log("&cFailed to open data journal: " + e.getMessage());
+            candidate.close(false);
+            return;
+        }
         
-        synchronized (dbLock) {
-            if (connection == null) return;
-            
-            long now = System.currentTimeMillis();
+        journal = candidate;
+        long interval = plugin.getConfigManager().getJournalCompactInterval() * 20L;
+        compactTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::compactJournal, 20L, interval);
+    }
+    
+    private void compactJournal() {
+        MutationJournal current = journal;
+        DatabaseWriter currentWriter = writer;
+        if (current == null || currentWriter == null || !compacting.compareAndSet(false, true)) return;
+        
+        try {
+            List<File> sealed;
+            Mutation barrier;
+            synchronized (journalLock) {
+                sealed = current.rotate();
+                if (sealed.isEmpty()) return;
+                barrier = currentWriter.enqueueBarrier();
+            }
             
-            try {
-                try (Statement stmt = connection.createStatement();
-                     ResultSet rs = stmt.executeQuery("SELECT uuid, kit_id, end_time FROM cooldowns")) {
-                    while (rs.next()) {
-                        UUID uuid = UUID.fromString(rs.getString("uuid"));
-                        String kitId = rs.getString("kit_id");
-                        long endTime = rs.getLong("end_time");
-                        if (endTime > now) {
-                            cooldowns.computeIfAbsent(uuid, k -> new ConcurrentHashMap<>()).put(kitId, endTime);
-                        }
-                    }
+            if (currentWriter.awaitBarrier(barrier, FLUSH_TIMEOUT_MS)) {
+                int kept = current.delete(sealed, currentWriter.getDroppedSegments());
+                plugin.debug("Compacted " + (sealed.size() - kept) + " journal segment(s) into the database"
+                    + (kept > 0 ? ", kept " + kept + " from the first one with dropped writes for replay" : ""));
+            }
+        } catch (IOException e) {
+            plugin.log("&cFailed to compact data journal: " + e.getMessage());
+        } finally {
+            compacting.set(false);
+        }
+    }
+    
+    private void openOffHeapTable() {
+        OffHeapCooldownTable table = new OffHeapCooldownTable(new File(plugin.getDataFolder(), OFFHEAP_FILE),
+            plugin.getConfigManager().getOffHeapInitialCapacity());
+        try {
+            table.open(fingerprint(backend));
+        } catch (IOException e) {
+            plugin.log("&cFailed to open off-heap cooldown table: " + e.getMessage());
+            table.close();
+            return;
+        }
+        
+        offHeapTable = table;
+        offHeapExecutor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "OakKits-OffHeap");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!table.needsRebuild()) {
+            offHeapReady = true;
+            plugin.log("&aOff-heap cooldown table opened with &e" + table.size() + " &aentries");
+            return;
+        }
+        
+        offHeapExecutor.execute(() -> rebuildOffHeapTable(table));
+    }
+    
+    private static long fingerprint(StorageBackend backend) {
+        String identity = backend.getName() + '|' + backend.getLocation();
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < identity.length(); i++) {
+            hash ^= identity.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+    
+    private void rebuildOffHeapTable(OffHeapCooldownTable table) {
+        long start = System.currentTimeMillis();
+        try {
+            table.clear();
+            if (writer != null) {
+                writer.awaitFlush(FLUSH_TIMEOUT_MS);
+            }
+            backend.forEachCooldown(start, (most, least, kitId, endTime) -> {
+                try {
+                    table.put(most, least, kitId, endTime);
+                } catch (IOException e) {
+                    throw new SQLException(e);
                 }
-                
-                try (Statement stmt = connection.createStatement();
-                     ResultSet rs = stmt.executeQuery("SELECT uuid, kit_id FROM one_time WHERE used = 1")) {
-                    while (rs.next()) {
-                        UUID uuid = UUID.fromString(rs.getString("uuid"));
-                        String kitId = rs.getString("kit_id");
-                        oneTimeUsed.computeIfAbsent(uuid, k -> new ConcurrentHashMap<>()).put(kitId, true);
+            });
+            table.markRebuilt();
+            offHeapReady = true;
+            plugin.log("&aRebuilt off-heap cooldown table with &e" + table.size() + " &aentries in &e" + (System.currentTimeMillis() - start) + "ms");
+        } catch (SQLException | IOException e) {
+            plugin.log("&cFailed to rebuild off-heap cooldown table: " + e.getMessage());
+        }
+    }
+    
+    private void updateOffHeap(Mutation mutation) {
+        OffHeapCooldownTable table = offHeapTable;
+        ExecutorService executor = offHeapExecutor;
+        if (table == null || executor == null) return;
+        try {
+            executor.execute(() -> applyOffHeap(table, mutation));
+        } catch (RejectedExecutionException ignored) {}
+    }
+    
+    private void applyOffHeap(OffHeapCooldownTable table, Mutation mutation) {
+        try {
+            switch (mutation.getType()) {
+                case SET_COOLDOWN:
+                    if (mutation.getValue() > 0) {
+                        table.put(mutation.getUuid(), mutation.getKitId(), mutation.getValue());
+                    } else {
+                        table.remove(mutation.getUuid(), mutation.getKitId());
                     }
-                }
-                
+                    break;
+                case RESET_COOLDOWN:
+                    table.remove(mutation.getUuid(), mutation.getKitId());
+                    break;
+                case CLEAR_KIT:
+                    table.removeKit(mutation.getKitId());
+                    break;
+                default:
+                    break;
+            }
+        } catch (IOException e) {
+            plugin.log("&cFailed to update off-heap cooldown table: " + e.getMessage());
+        }
+    }
+    
+    private StorageBackend createBackend(String type) {
+        switch (type) {
+            case "h2":
+                return new H2StorageBackend(plugin);
+            case "mysql":
+            case "mariadb":
+                return new MySQLStorageBackend(plugin);
+            case "sqlite":
+                return new SQLiteStorageBackend(plugin);
+            default:
+                plugin.log("&eUnknown storage type '" + type + "', using SQLite");
+                return new SQLiteStorageBackend(plugin);
+        }
+    }
+    
+    private void loadOnlinePlayers() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            UUID uuid = player.getUniqueId();
+            onlinePlayers.add(uuid);
+            loadPlayerAsync(uuid);
+        }
+    }
+    
+    public void loadPlayer(UUID uuid) {
+        if (records.containsKey(uuid)) return;
+        
+        Map<String, Long> playerCooldowns = new HashMap<>();
+        
+        if (writer != null && writer.hasPendingWrites(uuid) && !writer.awaitFlush(FLUSH_TIMEOUT_MS)) {
+            plugin.log("&eTimed out waiting for pending writes before loading " + uuid);
+        }
+        
+        PlayerRecord record = readRecord(uuid, playerCooldowns);
+        KitsManager kitsManager = plugin.getKitsManager();
+        
+        if (records.putIfAbsent(uuid, record) == null) {
+            for (Map.Entry<String, Long> entry : playerCooldowns.entrySet()) {
+                expiryQueue.add(uuid, kitsManager.getOrdinal(entry.getKey()), entry.getValue());
+            }
+        }
+        
+        if (!onlinePlayers.contains(uuid)) {
+            synchronized (offlineCache) {
+                offlineCache.put(uuid, Boolean.TRUE);
+            }
+        }
+    }
+    
+    private PlayerRecord readRecord(UUID uuid, Map<String, Long> playerCooldowns) {
+        Map<String, Boolean> playerOneTime = new HashMap<>();
+        
+        if (backend != null) {
+            try {
+                backend.loadPlayer(uuid, System.currentTimeMillis(), playerCooldowns, playerOneTime);
             } catch (SQLException e) {
-                plugin.log("&cFailed to load data: " + e.getMessage());
+                plugin.log("&cFailed to load data for " + uuid + ": " + e.getMessage());
             }
         }
         
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, this::cleanupExpiredCooldowns);
+        KitsManager kitsManager = plugin.getKitsManager();
+        PlayerRecord record = new PlayerRecord();
+        for (Map.Entry<String, Long> entry : playerCooldowns.entrySet()) {
+            record.setCooldownEnd(kitsManager.getOrdinal(entry.getKey()), entry.getValue());
+        }
+        for (String kitId : playerOneTime.keySet()) {
+            record.setOneTimeUsed(kitsManager.getOrdinal(kitId), true);
+        }
+        return record;
+    }
+    
+    private void loadPlayerAsync(UUID uuid) {
+        if (!loading.add(uuid)) return;
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                loadPlayer(uuid);
+            } finally {
+                loading.remove(uuid);
+            }
+        });
+    }
+    
+    public void handleJoin(UUID uuid) {
+        onlinePlayers.add(uuid);
+        synchronized (offlineCache) {
+            offlineCache.remove(uuid);
+        }
+        if (!records.containsKey(uuid)) {
+            loadPlayerAsync(uuid);
+        }
+    }
+    
+    public void handleQuit(UUID uuid) {
+        onlinePlayers.remove(uuid);
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> unloadPlayer(uuid));
+    }
+    
+    private void unloadPlayer(UUID uuid) {
+        if (writer != null && writer.hasPendingWrites(uuid)) {
+            writer.awaitFlush(FLUSH_TIMEOUT_MS);
+        }
+        if (!onlinePlayers.contains(uuid)) {
+            evict(uuid);
+        }
     }
     
-    public void reload() {
-        loadData();
+    private void evict(UUID uuid) {
+        records.remove(uuid);
     }
     
-    public void saveData() {
-        scheduleSave();
+    public boolean isLoaded(UUID uuid) {
+        return records.containsKey(uuid);
     }
     
-    private void scheduleSave() {
-        if (saveScheduled.compareAndSet(false, true)) {
-            if (saveTask != null) {
-                saveTask.cancel();
+    public boolean ensureLoaded(UUID uuid) {
+        return getRecord(uuid) != null;
+    }
+    
+    private PlayerRecord getRecord(UUID uuid) {
+        PlayerRecord record = records.get(uuid);
+        if (record != null) {
+            if (!onlinePlayers.contains(uuid)) {
+                synchronized (offlineCache) {
+                    offlineCache.get(uuid);
+                }
             }
-            saveTask = Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, () -> {
-                saveDataNow();
-                saveScheduled.set(false);
-            }, SAVE_DELAY_TICKS);
+            return record;
         }
+        if (Bukkit.isPrimaryThread()) {
+            loadPlayerAsync(uuid);
+            return null;
+        }
+        loadPlayer(uuid);
+        return records.get(uuid);
     }
     
-    public void saveDataNow() {
-        synchronized (dbLock) {
-            if (connection == null) return;
-            
+    public CompletableFuture<Void> reload() {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        if (!reloading.compareAndSet(null, ConcurrentHashMap.newKeySet())) {
+            done.completeExceptionally(new IllegalStateException("a data reload is already running"));
+            return done;
+        }
+        
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            Map<UUID, PlayerRecord> loaded = new HashMap<>();
+            Map<UUID, Map<String, Long>> loadedCooldowns = new HashMap<>();
             try {
-                connection.setAutoCommit(false);
-            
-                try (PreparedStatement deleteCD = connection.prepareStatement("DELETE FROM cooldowns");
-                     PreparedStatement deleteOT = connection.prepareStatement("DELETE FROM one_time")) {
-                    deleteCD.executeUpdate();
-                    deleteOT.executeUpdate();
+                if (writer != null && !writer.awaitFlush(FLUSH_TIMEOUT_MS)) {
+                    plugin.log("&eTimed out waiting for pending writes before reloading data");
                 }
                 
-                try (PreparedStatement insertCD = connection.prepareStatement(
-                        "INSERT INTO cooldowns (uuid, kit_id, end_time) VALUES (?, ?, ?)")) {
-                    for (Map.Entry<UUID, Map<String, Long>> entry : cooldowns.entrySet()) {
-                        String uuidStr = entry.getKey().toString();
-                        for (Map.Entry<String, Long> cooldown : entry.getValue().entrySet()) {
-                            insertCD.setString(1, uuidStr);
-                            insertCD.setString(2, cooldown.getKey());
-                            insertCD.setLong(3, cooldown.getValue());
-                            insertCD.addBatch();
-                        }
-                    }
-                    insertCD.executeBatch();
+                for (UUID uuid : onlinePlayers) {
+                    Map<String, Long> playerCooldowns = new HashMap<>();
+                    loaded.put(uuid, readRecord(uuid, playerCooldowns));
+                    loadedCooldowns.put(uuid, playerCooldowns);
                 }
-                
-                try (PreparedStatement insertOT = connection.prepareStatement(
-                        "INSERT INTO one_time (uuid, kit_id, used) VALUES (?, ?, 1)")) {
-                    for (Map.Entry<UUID, Map<String, Boolean>> entry : oneTimeUsed.entrySet()) {
-                        String uuidStr = entry.getKey().toString();
-                        for (Map.Entry<String, Boolean> oneTime : entry.getValue().entrySet()) {
-                            if (oneTime.getValue()) {
-                                insertOT.setString(1, uuidStr);
-                                insertOT.setString(2, oneTime.getKey());
-                                insertOT.addBatch();
-                            }
-                        }
-                    }
-                    insertOT.executeBatch();
+            } catch (RuntimeException e) {
+                reloading.set(null);
+                done.completeExceptionally(e);
+                return;
+            }
+            
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                Set<UUID> touched = reloading.getAndSet(null);
+                swapRecords(loaded, loadedCooldowns, touched);
+                done.complete(null);
+            });
+        });
+        return done;
+    }
+    
+    private void swapRecords(Map<UUID, PlayerRecord> loaded, Map<UUID, Map<String, Long>> loadedCooldowns, Set<UUID> touched) {
+        KitsManager kitsManager = plugin.getKitsManager();
+        
+        records.keySet().retainAll(onlinePlayers);
+        expiryQueue.clear();
+        compactThreshold = MIN_COMPACT_THRESHOLD;
+        synchronized (offlineCache) {
+            offlineCache.clear();
+        }
+        
+        int skipped = 0;
+        for (Map.Entry<UUID, PlayerRecord> entry : loaded.entrySet()) {
+            UUID uuid = entry.getKey();
+            if (touched.contains(uuid) || !onlinePlayers.contains(uuid)) {
+                skipped++;
+                continue;
+            }
+            records.put(uuid, entry.getValue());
+        }
+        
+        for (Map.Entry<UUID, PlayerRecord> entry : records.entrySet()) {
+            Map<String, Long> playerCooldowns = loadedCooldowns.get(entry.getKey());
+            if (playerCooldowns != null && entry.getValue() == loaded.get(entry.getKey())) {
+                for (Map.Entry<String, Long> cooldown : playerCooldowns.entrySet()) {
+                    expiryQueue.add(entry.getKey(), kitsManager.getOrdinal(cooldown.getKey()), cooldown.getValue());
                 }
-                
-                connection.commit();
-                connection.setAutoCommit(true);
-            } catch (SQLException e) {
-                plugin.log("&cFailed to save data: " + e.getMessage());
-                try {
-                    connection.rollback();
-                    connection.setAutoCommit(true);
-                } catch (SQLException ignored) {}
+            } else {
+                requeueExpiries(entry.getKey(), entry.getValue());
+            }
+        }
+        
+        plugin.log("&aReloaded data for &e" + (loaded.size() - skipped) + " &aonline players"
+            + (skipped > 0 ? " &7(" + skipped + " kept, changed during reload)" : ""));
+        cleanupExpiredCooldowns();
+    }
+    
+    private void requeueExpiries(UUID uuid, PlayerRecord record) {
+        KitsManager kitsManager = plugin.getKitsManager();
+        for (String kitId : kitsManager.getKitNames()) {
+            int kit = kitsManager.findOrdinal(kitId);
+            long endTime = kit >= 0 ? record.getCooldownEnd(kit) : 0L;
+            if (endTime > 0) {
+                expiryQueue.add(uuid, kit, endTime);
             }
         }
     }
     
     public void shutdown() {
-        if (saveTask != null) {
-            saveTask.cancel();
+        if (expiryTask != null) {
+            expiryTask.cancel();
+            expiryTask = null;
         }
-        saveDataNow();
         
-        synchronized (dbLock) {
-            if (connection != null) {
-                try {
-                    connection.close();
-                    connection = null;
-                } catch (SQLException ignored) {}
+        if (compactTask != null) {
+            compactTask.cancel();
+            compactTask = null;
+        }
+        
+        boolean committed = false;
+        Set<Long> pinned = Collections.emptySet();
+        if (writer != null) {
+            committed = writer.shutdown(FLUSH_TIMEOUT_MS);
+            pinned = writer.getDroppedSegments();
+            writer = null;
+        }
+        
+        if (journal != null) {
+            journal.close(committed, pinned);
+            journal = null;
+        }
+        
+        if (offHeapExecutor != null) {
+            offHeapExecutor.shutdown();
+            try {
+                if (!offHeapExecutor.awaitTermination(FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    plugin.log("&cOff-heap cooldown table updates did not finish in time");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
+            offHeapExecutor = null;
+        }
+        
+        if (offHeapTable != null) {
+            offHeapReady = false;
+            offHeapTable.close();
+            offHeapTable = null;
+        }
+        
+        if (backend != null) {
+            backend.close();
+            backend = null;
         }
     }
     
+    private void submit(Mutation mutation) {
+        DatabaseWriter current = writer;
+        if (current == null) return;
+        
+        Set<UUID> touched = reloading.get();
+        if (touched != null && mutation.getUuid() != null) {
+            touched.add(mutation.getUuid());
+        }
+        
+        MutationJournal currentJournal = journal;
+        if (currentJournal == null) {
+            current.submit(mutation);
+            return;
+        }
+        
+        synchronized (journalLock) {
+            try {
+                currentJournal.append(mutation);
+            } catch (IOException e) {
+                plugin.log("&cFailed to journal " + mutation.getType() + ": " + e.getMessage());
+            }
+            current.submit(mutation);
+        }
+        if (currentJournal.getActiveSize() >= plugin.getConfigManager().getJournalCompactSize() && !compacting.get()) {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, this::compactJournal);
+        }
+    }
+    
+    public DatabaseWriter getWriter() {
+        return writer;
+    }
+    
     public void setCooldown(UUID uuid, String kitId, long endTime) {
-        cooldowns.computeIfAbsent(uuid, k -> new ConcurrentHashMap<>()).put(kitId.toLowerCase(), endTime);
-        saveData();
+        String kitIdLower = kitId.toLowerCase();
+        PlayerRecord record = records.get(uuid);
+        if (record != null) {
+            int kit = plugin.getKitsManager().getOrdinal(kitIdLower);
+            record.setCooldownEnd(kit, endTime);
+            expiryQueue.add(uuid, kit, endTime);
+        }
+        Mutation mutation = Mutation.setCooldown(uuid, kitIdLower, endTime);
+        submit(mutation);
+        updateOffHeap(mutation);
     }
     
     public long getCooldownEnd(UUID uuid, String kitId) {
-        Map<String, Long> playerCooldowns = cooldowns.get(uuid);
-        if (playerCooldowns == null) return 0;
-        String kitIdLower = kitId.toLowerCase();
-        return playerCooldowns.getOrDefault(kitIdLower, 0L);
+        OffHeapCooldownTable table = offHeapTable;
+        if (offHeapReady && table != null && !records.containsKey(uuid)) {
+            return table.get(uuid, kitId.toLowerCase());
+        }
+        PlayerRecord record = getRecord(uuid);
+        if (record == null) return 0;
+        int kit = plugin.getKitsManager().findOrdinal(kitId);
+        return kit < 0 ? 0 : record.getCooldownEnd(kit);
     }
     
     public long getRemainingCooldown(UUID uuid, String kitId) {
@@ -217,84 +585,109 @@ public class DataManager {
     }
     
     public void resetCooldown(UUID uuid, String kitId) {
-        Map<String, Long> playerCooldowns = cooldowns.get(uuid);
-        if (playerCooldowns != null) {
-            playerCooldowns.remove(kitId.toLowerCase());
-            saveData();
+        String kitIdLower = kitId.toLowerCase();
+        PlayerRecord record = records.get(uuid);
+        int kit = plugin.getKitsManager().findOrdinal(kitIdLower);
+        if (record != null && kit >= 0) {
+            record.setCooldownEnd(kit, 0L);
         }
+        Mutation mutation = Mutation.resetCooldown(uuid, kitIdLower);
+        submit(mutation);
+        updateOffHeap(mutation);
     }
     
     public void setOneTimeUsed(UUID uuid, String kitId) {
-        oneTimeUsed.computeIfAbsent(uuid, k -> new ConcurrentHashMap<>()).put(kitId.toLowerCase(), true);
-        saveData();
+        String kitIdLower = kitId.toLowerCase();
+        PlayerRecord record = records.get(uuid);
+        if (record != null) {
+            record.setOneTimeUsed(plugin.getKitsManager().getOrdinal(kitIdLower), true);
+        }
+        submit(Mutation.setOneTime(uuid, kitIdLower));
     }
     
     public boolean hasUsedOneTime(UUID uuid, String kitId) {
-        Map<String, Boolean> playerOneTime = oneTimeUsed.get(uuid);
-        if (playerOneTime == null) return false;
-        String kitIdLower = kitId.toLowerCase();
-        return playerOneTime.getOrDefault(kitIdLower, false);
+        PlayerRecord record = getRecord(uuid);
+        if (record == null) return false;
+        int kit = plugin.getKitsManager().findOrdinal(kitId);
+        return kit >= 0 && record.hasUsedOneTime(kit);
     }
     
     public void resetOneTime(UUID uuid, String kitId) {
-        Map<String, Boolean> playerOneTime = oneTimeUsed.get(uuid);
-        if (playerOneTime != null) {
-            playerOneTime.remove(kitId.toLowerCase());
-            saveData();
+        String kitIdLower = kitId.toLowerCase();
+        PlayerRecord record = records.get(uuid);
+        int kit = plugin.getKitsManager().findOrdinal(kitIdLower);
+        if (record != null && kit >= 0) {
+            record.setOneTimeUsed(kit, false);
         }
+        submit(Mutation.resetOneTime(uuid, kitIdLower));
     }
     
     public void clearKitData(String kitId) {
         String kitIdLower = kitId.toLowerCase();
-        
-        for (Map<String, Long> playerCooldowns : cooldowns.values()) {
-            playerCooldowns.remove(kitIdLower);
-        }
-        
-        for (Map<String, Boolean> playerOneTime : oneTimeUsed.values()) {
-            playerOneTime.remove(kitIdLower);
-        }
-        
-        synchronized (dbLock) {
-            if (connection != null) {
-                try {
-                    try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM cooldowns WHERE kit_id = ?")) {
-                        stmt.setString(1, kitIdLower);
-                        stmt.executeUpdate();
-                    }
-                    try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM one_time WHERE kit_id = ?")) {
-                        stmt.setString(1, kitIdLower);
-                        stmt.executeUpdate();
-                    }
-                } catch (SQLException e) {
-                    plugin.log("&cFailed to clear kit data: " + e.getMessage());
-                }
+        int kit = plugin.getKitsManager().findOrdinal(kitIdLower);
+        if (kit >= 0) {
+            for (PlayerRecord record : records.values()) {
+                record.clearKit(kit);
             }
         }
+        Mutation mutation = Mutation.clearKit(kitIdLower);
+        submit(mutation);
+        updateOffHeap(mutation);
     }
     
     public void cleanupExpiredCooldowns() {
         long now = System.currentTimeMillis();
-        boolean changed = false;
+        expireDueCooldowns();
+        OffHeapCooldownTable table = offHeapTable;
+        ExecutorService executor = offHeapExecutor;
+        if (offHeapReady && table != null && executor != null) {
+            try {
+                executor.execute(() -> table.sweepExpired(now));
+            } catch (RejectedExecutionException ignored) {}
+        }
+        submit(Mutation.expire(now));
+    }
+    
+    private void expireDueCooldowns() {
+        List<ExpiryQueue.Entry> due = expiryQueue.pollDue(System.currentTimeMillis());
+        boolean notify = plugin.getConfigManager().isKitReadyEnabled();
+        List<ExpiryQueue.Entry> ready = notify ? new ArrayList<>() : null;
         
-        for (Map<String, Long> playerCooldowns : cooldowns.values()) {
-            changed |= playerCooldowns.entrySet().removeIf(entry -> entry.getValue() < now);
+        for (ExpiryQueue.Entry entry : due) {
+            PlayerRecord record = records.get(entry.getUuid());
+            if (record == null) continue;
+            if (record.clearCooldownIf(entry.getKit(), entry.getEndTime()) && notify && onlinePlayers.contains(entry.getUuid())) {
+                ready.add(entry);
+            }
         }
         
-        if (changed) {
-            saveData();
+        if (ready != null && !ready.isEmpty() && plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, () -> notifyKitReady(ready));
         }
         
-        synchronized (dbLock) {
-            if (connection != null) {
-                try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM cooldowns WHERE end_time < ?")) {
-                    stmt.setLong(1, now);
-                    int deleted = stmt.executeUpdate();
-                    if (deleted > 0) {
-                        plugin.log("&7Cleaned up &e" + deleted + " &7expired cooldowns");
-                    }
-                } catch (SQLException ignored) {}
-            }
+        if (expiryQueue.size() >= compactThreshold) {
+            expiryQueue.retainIf(entry -> {
+                PlayerRecord record = records.get(entry.getUuid());
+                return record != null && record.getCooldownEnd(entry.getKit()) == entry.getEndTime();
+            });
+            compactThreshold = Math.max(MIN_COMPACT_THRESHOLD, expiryQueue.size() * 2);
+        }
+    }
+    
+    private void notifyKitReady(List<ExpiryQueue.Entry> ready) {
+        MessagesManager msg = plugin.getMessagesManager();
+        for (ExpiryQueue.Entry entry : ready) {
+            Player player = Bukkit.getPlayer(entry.getUuid());
+            String kitId = plugin.getKitsManager().getIdByOrdinal(entry.getKit());
+            Kit kit = kitId != null ? plugin.getKitsManager().getKit(kitId) : null;
+            if (player == null || kit == null) continue;
+            
+            if (!plugin.getKitsManager().canAccess(player, kit)) continue;
+            
+            Function<String, String> placeholders = key -> key.equals("kit") ? kit.getId() : null;
+            boolean mobile = plugin.getBedrockManager().isMobileFriendly(player);
+            player.sendMessage(msg.getChatMessage("kit-ready", placeholders, mobile));
+            plugin.getNotificationManager().sendActionBar(player, msg.getActionBarMessage("kit-ready", placeholders, mobile));
         }
     }
 }
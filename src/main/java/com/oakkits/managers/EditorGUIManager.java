@@ -45,11 +45,19 @@ public class EditorGUIManager {
     }
     
     public void loadConfig() {
+        applyConfig(readConfig());
+    }
+    
+    public FileConfiguration readConfig() {
         File file = new File(plugin.getDataFolder(), "editor-gui.yml");
         if (!file.exists()) {
             plugin.saveResource("editor-gui.yml", false);
         }
-        guiConfig = YamlConfiguration.loadConfiguration(file);
+        return YamlConfiguration.loadConfiguration(file);
+    }
+    
+    public void applyConfig(FileConfiguration loaded) {
+        guiConfig = loaded;
         
         mainTitle = guiConfig.getString("titles.main", "&8Kit Editor: &6{kit}");
         itemsTitle = guiConfig.getString("titles.items", "&8Edit Items: &6{kit}");
@@ -152,7 +160,7 @@ public class EditorGUIManager {
         
         List<ItemStack> items = kit.getItems();
         for (int i = 0; i < Math.min(items.size(), 36); i++) {
-            inv.setItem(i, items.get(i).clone());
+            inv.setItem(i, items.get(i));
         }
         
         for (int i = 36; i < 45; i++) {
@@ -191,10 +199,10 @@ public class EditorGUIManager {
         
         fillBorder(inv, 27);
         
-        inv.setItem(10, kit.getHelmet() != null ? kit.getHelmet().clone() : createEmptySlot("&7Helmet Slot"));
-        inv.setItem(11, kit.getChestplate() != null ? kit.getChestplate().clone() : createEmptySlot("&7Chestplate Slot"));
-        inv.setItem(12, kit.getLeggings() != null ? kit.getLeggings().clone() : createEmptySlot("&7Leggings Slot"));
-        inv.setItem(13, kit.getBoots() != null ? kit.getBoots().clone() : createEmptySlot("&7Boots Slot"));
+        inv.setItem(10, kit.hasArmorPiece(Kit.HELMET) ? kit.getHelmet() : createEmptySlot("&7Helmet Slot"));
+        inv.setItem(11, kit.hasArmorPiece(Kit.CHESTPLATE) ? kit.getChestplate() : createEmptySlot("&7Chestplate Slot"));
+        inv.setItem(12, kit.hasArmorPiece(Kit.LEGGINGS) ? kit.getLeggings() : createEmptySlot("&7Leggings Slot"));
+        inv.setItem(13, kit.hasArmorPiece(Kit.BOOTS) ? kit.getBoots() : createEmptySlot("&7Boots Slot"));
         
         inv.setItem(15, createButton(
             getMaterial("buttons.import-armor.material", "ARMOR_STAND"),
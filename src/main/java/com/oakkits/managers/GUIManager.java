@@ -49,12 +49,20 @@ public class GUIManager {
     }
     
     public void loadGUI() {
+        applyGUI(readGUI());
+    }
+    
+    public FileConfiguration readGUI() {
         File guiFile = new File(plugin.getDataFolder(), "gui.yml");
         if (!guiFile.exists()) {
             plugin.saveResource("gui.yml", false);
         }
         
-        guiConfig = YamlConfiguration.loadConfiguration(guiFile);
+        return YamlConfiguration.loadConfiguration(guiFile);
+    }
+    
+    public void applyGUI(FileConfiguration loaded) {
+        guiConfig = loaded;
         
         ConfigurationSection preview = guiConfig.getConfigurationSection("preview");
         if (preview == null) return;
@@ -136,7 +144,7 @@ public class GUIManager {
         int slot = itemsStartSlot;
         for (ItemStack item : kit.getItems()) {
             if (slot < previewSize && !borderSlots.contains(slot)) {
-                inv.setItem(slot, item.clone());
+                inv.setItem(slot, item);
                 slot++;
                 while (borderSlots.contains(slot) && slot < previewSize) {
                     slot++;
@@ -144,17 +152,21 @@ public class GUIManager {
             }
         }
         
-        if (kit.getHelmet() != null && armorSlots.containsKey("helmet")) {
-            inv.setItem(armorSlots.get("helmet"), kit.getHelmet().clone());
+        ItemStack helmet = kit.getHelmet();
+        if (helmet != null && armorSlots.containsKey("helmet")) {
+            inv.setItem(armorSlots.get("helmet"), helmet);
         }
-        if (kit.getChestplate() != null && armorSlots.containsKey("chestplate")) {
-            inv.setItem(armorSlots.get("chestplate"), kit.getChestplate().clone());
+        ItemStack chestplate = kit.getChestplate();
+        if (chestplate != null && armorSlots.containsKey("chestplate")) {
+            inv.setItem(armorSlots.get("chestplate"), chestplate);
         }
-        if (kit.getLeggings() != null && armorSlots.containsKey("leggings")) {
-            inv.setItem(armorSlots.get("leggings"), kit.getLeggings().clone());
+        ItemStack leggings = kit.getLeggings();
+        if (leggings != null && armorSlots.containsKey("leggings")) {
+            inv.setItem(armorSlots.get("leggings"), leggings);
         }
-        if (kit.getBoots() != null && armorSlots.containsKey("boots")) {
-            inv.setItem(armorSlots.get("boots"), kit.getBoots().clone());
+        ItemStack boots = kit.getBoots();
+        if (boots != null && armorSlots.containsKey("boots")) {
+            inv.setItem(armorSlots.get("boots"), boots);
         }
         
         if (infoEnabled && infoItem != null) {
@@ -0,0 +1,231 @@
+package com.oakkits.managers;
+
+import com.oakkits.OakKits;
+import com.oakkits.models.Kit;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class KitCache {
+    
+    private static final int MAGIC = 0x4F4B4B43;
+    private static final int FORMAT_VERSION = 3;
+    
+    private final OakKits plugin;
+    private final File file;
+    private volatile Map<String, Entry> previous = Collections.emptyMap();
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+    private volatile boolean changed;
+    
+    public KitCache(OakKits plugin, File file) {
+        this.plugin = plugin;
+        this.file = file;
+    }
+    
+    public synchronized void load() {
+        current.clear();
+        changed = false;
+        previous = Collections.emptyMap();
+        if (!file.exists()) {
+            changed = true;
+            return;
+        }
+        
+        Map<String, Entry> entries = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !in.readUTF().equals(String.valueOf(Bukkit.getBukkitVersion()))) {
+                plugin.debug("Kit cache was written by another version, rebuilding");
+                changed = true;
+                return;
+            }
+            
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String id = in.readUTF();
+                byte[] hash = new byte[in.readUnsignedByte()];
+                in.readFully(hash);
+                byte[] payload = new byte[in.readInt()];
+                in.readFully(payload);
+                entries.put(id, new Entry(hash, payload));
+            }
+        } catch (IOException e) {
+            plugin.log("&eIgnoring unreadable kit cache: " + e.getMessage());
+            changed = true;
+            return;
+        }
+        previous = entries;
+    }
+    
+    public KitDefinition get(String id, byte[] hash) {
+        Entry entry = previous.get(id);
+        if (entry == null || !Arrays.equals(entry.hash, hash)) return null;
+        
+        try {
+            KitDefinition definition = decode(id, entry.payload);
+            current.put(id, entry);
+            return definition;
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            plugin.debug("Discarding cached kit " + id + ": " + e.getMessage());
+            return null;
+        }
+    }
+    
+    public void put(String id, byte[] hash, KitDefinition definition) {
+        try {
+            current.put(id, new Entry(hash, encode(definition)));
+        } catch (IOException | RuntimeException e) {
+            plugin.debug("Could not cache kit " + id + ": " + e.getMessage());
+        }
+        changed = true;
+    }
+    
+    public synchronized void save(Collection<String> ids) {
+        if (!changed && current.size() == previous.size()) return;
+        changed = false;
+        
+        Map<String, Entry> written = new LinkedHashMap<>();
+        for (String id : ids) {
+            Entry entry = current.get(id);
+            if (entry != null) written.put(id, entry);
+        }
+        current.keySet().retainAll(written.keySet());
+        
+        Path path = file.toPath();
+        Path temp = path.resolveSibling(file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(String.valueOf(Bukkit.getBukkitVersion()));
+            
+            out.writeInt(written.size());
+            for (Map.Entry<String, Entry> cached : written.entrySet()) {
+                String id = cached.getKey();
+                Entry entry = cached.getValue();
+                out.writeUTF(id);
+                out.writeByte(entry.hash.length);
+                out.write(entry.hash);
+                out.writeInt(entry.payload.length);
+                out.write(entry.payload);
+            }
+        } catch (IOException e) {
+            plugin.log("&cFailed to write kit cache: " + e.getMessage());
+            changed = true;
+            return;
+        }
+        
+        try {
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            plugin.log("&cFailed to write kit cache: " + e.getMessage());
+            changed = true;
+            return;
+        }
+        previous = written;
+        plugin.debug("Wrote kit cache with " + written.size() + " kits");
+    }
+    
+    public static byte[] hash(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private byte[] encode(KitDefinition definition) throws IOException {
+        Kit kit = definition.kit;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BukkitObjectOutputStream out = new BukkitObjectOutputStream(bytes)) {
+            out.writeUTF(definition.parent != null ? definition.parent : "");
+            out.writeInt(definition.declared);
+            out.writeUTF(kit.getDisplayName());
+            out.writeUTF(kit.getPermission());
+            out.writeLong(kit.getCooldown());
+            out.writeDouble(kit.getCost());
+            out.writeBoolean(kit.isOneTime());
+            out.writeUTF(kit.getCategory());
+            
+            out.writeInt(kit.getTags().size());
+            for (String tag : kit.getTags()) {
+                out.writeUTF(tag);
+            }
+            
+            out.writeInt(kit.getCommands().size());
+            for (String command : kit.getCommands()) {
+                out.writeUTF(command);
+            }
+            
+            out.writeInt(kit.getItems().size());
+            for (ItemStack item : kit.getItems()) {
+                out.writeObject(item);
+            }
+            
+            for (int slot = 0; slot < Kit.ARMOR_SLOTS.length; slot++) {
+                out.writeObject(kit.getArmorPiece(slot));
+            }
+        }
+        return bytes.toByteArray();
+    }
+    
+    private KitDefinition decode(String id, byte[] payload) throws IOException, ClassNotFoundException {
+        try (BukkitObjectInputStream in = new BukkitObjectInputStream(new ByteArrayInputStream(payload))) {
+            String parent = in.readUTF();
+            int declared = in.readInt();
+            Kit.Builder kit = Kit.builder(id)
+                .displayName(in.readUTF())
+                .permission(in.readUTF())
+                .cooldown(in.readLong())
+                .cost(in.readDouble())
+                .oneTime(in.readBoolean())
+                .category(in.readUTF());
+            
+            int tagCount = in.readInt();
+            List<String> tags = new ArrayList<>(tagCount);
+            for (int i = 0; i < tagCount; i++) {
+                tags.add(in.readUTF());
+            }
+            kit.tags(tags);
+            
+            int commands = in.readInt();
+            for (int i = 0; i < commands; i++) {
+                kit.addCommand(in.readUTF());
+            }
+            
+            int items = in.readInt();
+            for (int i = 0; i < items; i++) {
+                kit.addItem((ItemStack) in.readObject());
+            }
+            
+            for (String slot : Kit.ARMOR_SLOTS) {
+                kit.armorPiece(slot, (ItemStack) in.readObject());
+            }
+            return new KitDefinition(kit.build(), parent.isEmpty() ? null : parent, declared);
+        }
+    }
+    
+    private static final class Entry {
+        
+        private final byte[] hash;
+        private final byte[] payload;
+        
+        private Entry(byte[] hash, byte[] payload) {
+            this.hash = hash;
+            this.payload = payload;
+        }
+    }
+}
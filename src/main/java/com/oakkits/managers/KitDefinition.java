@@ -0,0 +1,39 @@
+package com.oakkits.managers;
+
+import com.oakkits.models.Kit;
+
+final class KitDefinition {
+    
+    static final int COOLDOWN = 1;
+    static final int COST = 1 << 1;
+    static final int ONE_TIME = 1 << 2;
+    static final int CATEGORY = 1 << 3;
+    static final int ALL = COOLDOWN | COST | ONE_TIME | CATEGORY;
+    
+    final Kit kit;
+    final String parent;
+    final int declared;
+    
+    KitDefinition(Kit kit, String parent, int declared) {
+        this.kit = kit;
+        this.parent = parent;
+        this.declared = parent != null ? declared : ALL;
+    }
+    
+    static KitDefinition standalone(Kit kit) {
+        return new KitDefinition(kit, null, ALL);
+    }
+    
+    boolean declares(int field) {
+        return (declared & field) != 0;
+    }
+    
+    Kit inherit(Kit base) {
+        Kit.Builder builder = kit.toBuilder().extend(base);
+        if (!declares(COOLDOWN)) builder.cooldown(base.getCooldown());
+        if (!declares(COST)) builder.cost(base.getCost());
+        if (!declares(ONE_TIME)) builder.oneTime(base.isOneTime());
+        if (!declares(CATEGORY)) builder.category(base.getCategory());
+        return builder.build();
+    }
+}
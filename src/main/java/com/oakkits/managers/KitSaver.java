@@ -0,0 +1,118 @@
+package com.oakkits.managers;
+
+import com.oakkits.OakKits;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class KitSaver {
+    
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10L;
+    
+    private final OakKits plugin;
+    private final KitsManager kitsManager;
+    private final ScheduledExecutorService executor;
+    private final Map<String, KitDefinition> dirty = new LinkedHashMap<>();
+    private final Object flushLock = new Object();
+    private ScheduledFuture<?> scheduled;
+    
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    
+    public KitSaver(OakKits plugin, KitsManager kitsManager) {
+        this.plugin = plugin;
+        this.kitsManager = kitsManager;
+        this.executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "OakKits-KitSaver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ((ScheduledThreadPoolExecutor) executor).setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+    
+    public void markDirty(KitDefinition definition) {
+        queue(definition.kit.getId(), definition);
+    }
+    
+    public void markDeleted(String id) {
+        queue(id, null);
+    }
+    
+    private void queue(String id, KitDefinition definition) {
+        synchronized (this) {
+            if (dirty.containsKey(id)) {
+                coalesced.incrementAndGet();
+            }
+            dirty.put(id, definition);
+            
+            if (!executor.isShutdown()) {
+                if (scheduled == null) {
+                    scheduled = executor.schedule(this::flush, plugin.getConfigManager().getKitSaveDelay(), TimeUnit.MILLISECONDS);
+                }
+                return;
+            }
+        }
+        
+        flush();
+    }
+    
+    public void flush() {
+        synchronized (flushLock) {
+            Map<String, KitDefinition> batch;
+            synchronized (this) {
+                if (dirty.isEmpty()) return;
+                batch = new LinkedHashMap<>(dirty);
+                dirty.clear();
+                scheduled = null;
+            }
+            
+            for (Map.Entry<String, KitDefinition> entry : batch.entrySet()) {
+                if (entry.getValue() != null) {
+                    kitsManager.writeKitFile(entry.getValue());
+                } else {
+                    kitsManager.deleteKitFile(entry.getKey());
+                }
+            }
+            written.addAndGet(batch.size());
+            plugin.debug("Saved " + batch.size() + " kit files (" + coalesced.get() + " edits coalesced so far)");
+        }
+    }
+    
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                plugin.log("&cKit saver did not finish in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+    
+    public boolean isPending(String id) {
+        synchronized (this) {
+            return dirty.containsKey(id);
+        }
+    }
+    
+    public int getPending() {
+        synchronized (this) {
+            return dirty.size();
+        }
+    }
+    
+    public long getWritten() {
+        return written.get();
+    }
+    
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+}
@@ -0,0 +1,99 @@
+package com.oakkits.managers;
+
+import com.oakkits.OakKits;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+public class KitWatcher implements Runnable {
+    
+    private static final String KIT_FILE_SUFFIX = ".yml";
+    
+    private final OakKits plugin;
+    private final KitsManager kitsManager;
+    private final Path dir;
+    private final long delayMs;
+    private final Thread thread;
+    private WatchService watchService;
+    private volatile boolean running = true;
+    
+    public KitWatcher(OakKits plugin, KitsManager kitsManager, File dir, long delayMs) {
+        this.plugin = plugin;
+        this.kitsManager = kitsManager;
+        this.dir = dir.toPath();
+        this.delayMs = delayMs;
+        this.thread = new Thread(this, "OakKits-KitWatcher");
+        this.thread.setDaemon(true);
+    }
+    
+    public void start() throws IOException {
+        watchService = dir.getFileSystem().newWatchService();
+        dir.register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY,
+            StandardWatchEventKinds.ENTRY_DELETE);
+        thread.start();
+    }
+    
+    public void shutdown() {
+        running = false;
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (IOException ignored) {}
+    }
+    
+    @Override
+    public void run() {
+        Set<String> changed = new LinkedHashSet<>();
+        boolean overflow = false;
+        
+        while (running) {
+            WatchKey key;
+            try {
+                key = changed.isEmpty() && !overflow ? watchService.take() : watchService.poll(delayMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                break;
+            }
+            
+            if (key == null) {
+                if (overflow) {
+                    plugin.debug("Kit watcher missed events, reloading all kits");
+                    kitsManager.loadKits();
+                } else {
+                    kitsManager.reloadChangedFiles(changed);
+                }
+                changed = new LinkedHashSet<>();
+                overflow = false;
+                continue;
+            }
+            
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    overflow = true;
+                    continue;
+                }
+                
+                String name = event.context().toString();
+                if (name.endsWith(KIT_FILE_SUFFIX)) {
+                    changed.add(name.substring(0, name.length() - KIT_FILE_SUFFIX.length()));
+                }
+            }
+            
+            if (!key.reset()) {
+                plugin.log("&eStopped watching kits/ for changes: the folder is no longer accessible");
+                break;
+            }
+        }
+    }
+}
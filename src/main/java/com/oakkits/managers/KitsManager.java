@@ -3,8 +3,10 @@ package com.oakkits.managers;
 import com.oakkits.OakKits;
 import com.oakkits.models.Kit;
 import com.oakkits.utils.ColorUtil;
+import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.enchantments.Enchantment;
@@ -15,82 +17,509 @@ import org.bukkit.inventory.meta.ItemMeta;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 
 public class KitsManager {
     
+    private static final int MAX_PARSER_THREADS = 4;
+    private static final long LOAD_TIMEOUT_SECONDS = 30L;
+    private static final String KIT_FILE_SUFFIX = ".yml";
+    private static final Pattern VALID_ID = Pattern.compile("[a-z0-9_-]+");
+    
     private final OakKits plugin;
-    private final Map<String, Kit> kits = new ConcurrentHashMap<>();
-    private volatile File kitsFile;
-    private volatile FileConfiguration kitsConfig;
+    private volatile Map<String, KitDefinition> definitions = Collections.emptyMap();
+    private volatile Map<String, Kit> kits = Collections.emptyMap();
+    private volatile Kit[] kitsByOrdinal = new Kit[0];
+    private volatile int[] displayOrder = new int[0];
+    private volatile Map<String, long[]> categoryIndex = Collections.emptyMap();
+    private volatile Map<String, long[]> tagIndex = Collections.emptyMap();
+    private final Map<UUID, KitAccess> access = new ConcurrentHashMap<>();
+    private final Object registryLock = new Object();
+    private final Map<String, KitDefinition> editsDuringLoad = new LinkedHashMap<>();
+    private int loadsInFlight;
+    private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+    private final List<String> ordinalIds = new CopyOnWriteArrayList<>();
     private final Object saveLock = new Object();
+    private final ExecutorService parserPool;
+    private final KitSaver saver;
+    private final KitCache cache;
+    private final Map<String, byte[]> fileHashes = new ConcurrentHashMap<>();
+    private KitWatcher watcher;
+    private final AtomicInteger loadGeneration = new AtomicInteger();
+    private volatile CompletableFuture<LoadResult> pendingLoad;
     
     public KitsManager(OakKits plugin) {
         this.plugin = plugin;
-        loadKits();
+        int threads = Math.max(1, Math.min(MAX_PARSER_THREADS, Runtime.getRuntime().availableProcessors() - 1));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.parserPool = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "OakKits-KitParser-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.saver = new KitSaver(plugin, this);
+        this.cache = new KitCache(plugin, new File(plugin.getDataFolder(), "kits.cache"));
+        this.pendingLoad = parseKits();
     }
     
-    public void loadKits() {
-        kits.clear();
+    public void awaitLoad() {
+        CompletableFuture<LoadResult> load = pendingLoad;
+        if (load == null) return;
+        pendingLoad = null;
         
-        kitsFile = new File(plugin.getDataFolder(), "kits.yml");
-        if (!kitsFile.exists()) {
-            plugin.saveResource("kits.yml", false);
+        try {
+            publish(load.get(LOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            updateWatcher();
+        } catch (TimeoutException e) {
+            plugin.log("&cTimed out loading kits after " + LOAD_TIMEOUT_SECONDS + "s");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            plugin.log("&cFailed to load kits: " + e.getCause().getMessage());
+        }
+    }
+    
+    public CompletableFuture<Void> loadKits() {
+        int generation = loadGeneration.incrementAndGet();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        synchronized (registryLock) {
+            loadsInFlight++;
         }
         
-        kitsConfig = YamlConfiguration.loadConfiguration(kitsFile);
-        
-        ConfigurationSection kitsSection = kitsConfig.getConfigurationSection("kits");
-        if (kitsSection == null) return;
+        parseKits().whenComplete((result, error) -> {
+            if (error != null) {
+                finishLoad();
+                plugin.log("&cFailed to load kits: " + error.getMessage());
+                done.completeExceptionally(error);
+                return;
+            }
+            if (!plugin.isEnabled()) {
+                finishLoad();
+                done.complete(null);
+                return;
+            }
+            
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (generation != loadGeneration.get()) {
+                    plugin.debug("Discarded stale kit reload #" + generation);
+                } else {
+                    publish(result);
+                }
+                finishLoad();
+                done.complete(null);
+            });
+        });
+        return done;
+    }
+    
+    private void finishLoad() {
+        synchronized (registryLock) {
+            if (--loadsInFlight == 0) {
+                editsDuringLoad.clear();
+            }
+        }
+    }
+    
+    private void recordEdit(String id, KitDefinition definition) {
+        if (loadsInFlight > 0) {
+            editsDuringLoad.put(id, definition);
+        }
+    }
+    
+    private CompletableFuture<LoadResult> parseKits() {
+        long start = System.currentTimeMillis();
         
-        for (String kitId : kitsSection.getKeys(false)) {
-            ConfigurationSection kitSection = kitsSection.getConfigurationSection(kitId);
-            if (kitSection == null) continue;
+        return CompletableFuture.supplyAsync(() -> {
+            saver.flush();
+            fileHashes.clear();
             
-            Kit kit = new Kit(kitId);
-            kit.setDisplayName(kitSection.getString("display-name", kitId));
-            kit.setPermission(kitSection.getString("permission", "oakkits.kit." + kitId));
-            kit.setCooldown(kitSection.getString("cooldown", "0"));
-            kit.setCost(kitSection.getDouble("cost", 0));
-            kit.setOneTime(kitSection.getBoolean("one-time", false));
-            kit.setCommands(kitSection.getStringList("commands"));
+            File dir = getKitsFolder();
+            if (!dir.isDirectory()) {
+                migrateLegacyFile(dir);
+            }
+            cache.load();
             
-            List<Map<?, ?>> itemsList = kitSection.getMapList("items");
-            for (Map<?, ?> itemMap : itemsList) {
-                ItemStack item = parseItem(itemMap);
-                if (item != null) {
-                    kit.addItem(item);
+            File[] files = dir.listFiles((folder, name) -> name.endsWith(KIT_FILE_SUFFIX));
+            if (files == null) files = new File[0];
+            Arrays.sort(files);
+            return files;
+        }, parserPool).thenCompose(files -> {
+            List<String> ids = new ArrayList<>();
+            List<CompletableFuture<KitDefinition>> parsed = new ArrayList<>();
+            for (File file : files) {
+                String kitId = file.getName().substring(0, file.getName().length() - KIT_FILE_SUFFIX.length());
+                if (!isValidId(kitId)) {
+                    plugin.log("&eSkipping kits/" + file.getName() + ": kit ids may only use a-z, 0-9, '_' and '-'");
+                    continue;
                 }
+                
+                ids.add(kitId);
+                parsed.add(CompletableFuture.supplyAsync(() -> loadKitFile(kitId, file), parserPool)
+                    .exceptionally(e -> {
+                        plugin.log("&cFailed to load kit " + kitId + ": " + e.getMessage());
+                        return null;
+                    }));
             }
             
-            ConfigurationSection armorSection = kitSection.getConfigurationSection("armor");
-            if (armorSection != null) {
-                for (String slot : armorSection.getKeys(false)) {
-                    ConfigurationSection armorPiece = armorSection.getConfigurationSection(slot);
-                    if (armorPiece != null) {
-                        ItemStack armor = parseArmorPiece(armorPiece);
-                        if (armor != null) {
-                            kit.setArmorPiece(slot, armor);
+            return CompletableFuture.allOf(parsed.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+                LoadResult result = new LoadResult();
+                for (int i = 0; i < ids.size(); i++) {
+                    KitDefinition definition = parsed.get(i).join();
+                    if (definition != null) {
+                        result.definitions.put(ids.get(i).toLowerCase(), definition);
+                    }
+                }
+                result.kits.putAll(resolve(result.definitions));
+                result.millis = System.currentTimeMillis() - start;
+                parserPool.execute(() -> cache.save(ids));
+                return result;
+            });
+        });
+    }
+    
+    private KitDefinition loadKitFile(String kitId, File file) {
+        try {
+            byte[] content = Files.readAllBytes(file.toPath());
+            return compileKitFile(kitId, content, KitCache.hash(content));
+        } catch (IOException | InvalidConfigurationException e) {
+            throw new CompletionException(e);
+        }
+    }
+    
+    private KitDefinition compileKitFile(String kitId, byte[] content, byte[] hash) throws InvalidConfigurationException {
+        fileHashes.put(kitId, hash);
+        
+        KitDefinition definition = cache.get(kitId, hash);
+        if (definition != null) return definition;
+        
+        YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString(new String(content, StandardCharsets.UTF_8));
+        definition = parseDefinition(kitId, config);
+        cache.put(kitId, hash, definition);
+        return definition;
+    }
+    
+    private Map<String, Kit> resolve(Map<String, KitDefinition> source) {
+        Map<String, Kit> resolved = new HashMap<>();
+        Set<String> failed = new HashSet<>();
+        Map<String, Kit> result = new LinkedHashMap<>();
+        for (String id : source.keySet()) {
+            Kit kit = resolve(id, source, resolved, failed, new LinkedHashSet<>());
+            if (kit != null) {
+                result.put(id, kit);
+            }
+        }
+        return result;
+    }
+    
+    private Kit resolve(String id, Map<String, KitDefinition> source, Map<String, Kit> resolved, Set<String> failed, Set<String> path) {
+        Kit kit = resolved.get(id);
+        if (kit != null || failed.contains(id)) return kit;
+        
+        KitDefinition definition = source.get(id);
+        if (definition.parent == null) {
+            resolved.put(id, definition.kit);
+            return definition.kit;
+        }
+        
+        if (!path.add(id)) {
+            plugin.log("&cSkipping kit " + id + ": inheritance cycle " + String.join(" -> ", path) + " -> " + id);
+            failed.add(id);
+            return null;
+        }
+        
+        Kit base = null;
+        if (!source.containsKey(definition.parent)) {
+            plugin.log("&cSkipping kit " + id + ": it extends unknown kit " + definition.parent);
+        } else {
+            base = resolve(definition.parent, source, resolved, failed, path);
+            if (base == null && !failed.contains(id)) {
+                plugin.log("&cSkipping kit " + id + ": its parent kit " + definition.parent + " failed to load");
+            }
+        }
+        path.remove(id);
+        
+        if (base == null) {
+            failed.add(id);
+            return null;
+        }
+        kit = definition.inherit(base);
+        resolved.put(id, kit);
+        return kit;
+    }
+    
+    void reloadChangedFiles(Collection<String> ids) {
+        Map<String, KitDefinition> changed = new LinkedHashMap<>();
+        List<String> removed = new ArrayList<>();
+        
+        for (String kitId : ids) {
+            if (!isValidId(kitId)) continue;
+            
+            File file = getKitFile(kitId);
+            if (!file.exists()) {
+                if (fileHashes.remove(kitId) != null) {
+                    removed.add(kitId);
+                }
+                continue;
+            }
+            
+            try {
+                byte[] content = Files.readAllBytes(file.toPath());
+                byte[] hash = KitCache.hash(content);
+                if (Arrays.equals(hash, fileHashes.get(kitId))) continue;
+                
+                changed.put(kitId, compileKitFile(kitId, content, hash));
+            } catch (IOException | InvalidConfigurationException | RuntimeException e) {
+                plugin.log("&cFailed to reload kits/" + kitId + KIT_FILE_SUFFIX + ": " + e.getMessage());
+            }
+        }
+        
+        if ((changed.isEmpty() && removed.isEmpty()) || !plugin.isEnabled()) return;
+        
+        cache.save(fileHashes.keySet());
+        Bukkit.getScheduler().runTask(plugin, () -> applyFileChanges(changed, removed));
+    }
+    
+    private void applyFileChanges(Map<String, KitDefinition> changed, List<String> removed) {
+        int applied = 0;
+        synchronized (registryLock) {
+            Map<String, KitDefinition> updated = new LinkedHashMap<>(definitions);
+            for (String kitId : removed) {
+                if (saver.isPending(kitId)) continue;
+                if (updated.remove(kitId.toLowerCase()) != null) applied++;
+            }
+            for (Map.Entry<String, KitDefinition> entry : changed.entrySet()) {
+                if (saver.isPending(entry.getKey())) continue;
+                updated.put(entry.getKey().toLowerCase(), entry.getValue());
+                applied++;
+            }
+            setDefinitions(updated, resolve(updated));
+        }
+        
+        if (applied > 0) {
+            plugin.log("&aReloaded &e" + applied + " &achanged kit files");
+        }
+    }
+    
+    private void migrateLegacyFile(File dir) {
+        File legacy = new File(plugin.getDataFolder(), "kits.yml");
+        if (!legacy.exists()) {
+            plugin.saveResource("kits.yml", false);
+        }
+        
+        FileConfiguration config = YamlConfiguration.loadConfiguration(legacy);
+        ConfigurationSection kitsSection = config.getConfigurationSection("kits");
+        File staging = new File(plugin.getDataFolder(), "kits.migrating");
+        deleteFolder(staging);
+        staging.mkdirs();
+        
+        int count = 0;
+        Map<String, String> sources = new HashMap<>();
+        try {
+            if (kitsSection != null) {
+                for (String kitId : kitsSection.getKeys(false)) {
+                    ConfigurationSection kitSection = kitsSection.getConfigurationSection(kitId);
+                    if (kitSection == null) continue;
+                    String id = kitId.toLowerCase();
+                    if (!isValidId(id)) {
+                        plugin.log("&eNot migrating kit '" + kitId + "': invalid kit id");
+                        continue;
+                    }
+                    if (sources.containsKey(id)) {
+                        String renamed = id;
+                        for (int n = 2; sources.containsKey(renamed); n++) {
+                            renamed = id + "_" + n;
                         }
+                        plugin.log("&eKits '" + sources.get(id) + "' and '" + kitId + "' both map to kit id " + id
+                            + ", migrating '" + kitId + "' as " + renamed);
+                        id = renamed;
+                    }
+                    sources.put(id, kitId);
+                    
+                    YamlConfiguration out = new YamlConfiguration();
+                    for (Map.Entry<String, Object> entry : kitSection.getValues(false).entrySet()) {
+                        out.set(entry.getKey(), entry.getValue());
                     }
+                    if (!id.equals(kitId) && !kitSection.isSet("permission")) {
+                        out.set("permission", "oakkits.kit." + kitId);
+                    }
+                    writeAtomically(new File(staging, id + KIT_FILE_SUFFIX), out.saveToString());
+                    count++;
                 }
             }
             
-            kits.put(kitId.toLowerCase(), kit);
+            Files.move(staging.toPath(), dir.toPath());
+        } catch (IOException e) {
+            plugin.log("&cFailed to split kits.yml into kits/: " + e.getMessage());
+            deleteFolder(staging);
+            return;
+        }
+        
+        File backup = new File(plugin.getDataFolder(), "kits.yml.migrated");
+        if (!legacy.renameTo(backup)) {
+            plugin.log("&eCould not rename kits.yml to " + backup.getName() + ", it is no longer used");
+        }
+        plugin.log("&aSplit kits.yml into &e" + count + " &akit files under kits/");
+    }
+    
+    private void deleteFolder(File dir) {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+    
+    private void publish(LoadResult result) {
+        synchronized (registryLock) {
+            if (editsDuringLoad.isEmpty()) {
+                setDefinitions(result.definitions, result.kits);
+            } else {
+                Map<String, KitDefinition> merged = new LinkedHashMap<>(result.definitions);
+                for (Map.Entry<String, KitDefinition> edit : editsDuringLoad.entrySet()) {
+                    if (edit.getValue() != null) {
+                        merged.put(edit.getKey(), edit.getValue());
+                    } else {
+                        merged.remove(edit.getKey());
+                    }
+                }
+                plugin.debug("Kept " + editsDuringLoad.size() + " kit edits made while reloading");
+                editsDuringLoad.clear();
+                setDefinitions(merged, resolve(merged));
+            }
         }
         
-        plugin.log("&aLoaded &e" + kits.size() + " &akits");
+        plugin.log("&aLoaded &e" + result.kits.size() + " &akits &7(" + result.millis + "ms)");
     }
     
-    public void reload() {
-        loadKits();
+    private KitDefinition parseDefinition(String kitId, ConfigurationSection kitSection) {
+        String parent = kitSection.getString("extends", "").trim().toLowerCase();
+        if (parent.isEmpty()) {
+            return KitDefinition.standalone(parseKit(kitId, kitSection));
+        }
+        
+        int declared = 0;
+        if (kitSection.contains("cooldown")) declared |= KitDefinition.COOLDOWN;
+        if (kitSection.contains("cost")) declared |= KitDefinition.COST;
+        if (kitSection.contains("one-time")) declared |= KitDefinition.ONE_TIME;
+        if (kitSection.contains("category")) declared |= KitDefinition.CATEGORY;
+        return new KitDefinition(parseKit(kitId, kitSection), parent, declared);
+    }
+    
+    private Kit parseKit(String kitId, ConfigurationSection kitSection) {
+        Kit.Builder kit = Kit.builder(kitId)
+            .displayName(kitSection.getString("display-name", kitId))
+            .permission(kitSection.getString("permission", "oakkits.kit." + kitId))
+            .cooldown(kitSection.getString("cooldown", "0"))
+            .cost(kitSection.getDouble("cost", 0))
+            .oneTime(kitSection.getBoolean("one-time", false))
+            .category(kitSection.getString("category"))
+            .tags(kitSection.getStringList("tags"))
+            .commands(kitSection.getStringList("commands"));
+        
+        List<Map<?, ?>> itemsList = kitSection.getMapList("items");
+        for (Map<?, ?> itemMap : itemsList) {
+            ItemStack item = parseItem(itemMap);
+            if (item != null) {
+                kit.addItem(item);
+            }
+        }
+        
+        ConfigurationSection armorSection = kitSection.getConfigurationSection("armor");
+        if (armorSection != null) {
+            for (String slot : armorSection.getKeys(false)) {
+                ConfigurationSection armorPiece = armorSection.getConfigurationSection(slot);
+                if (armorPiece != null) {
+                    ItemStack armor = parseArmorPiece(armorPiece);
+                    if (armor != null) {
+                        kit.armorPiece(slot, armor);
+                    }
+                }
+            }
+        }
+        
+        return kit.build();
+    }
+    
+    public CompletableFuture<Void> reload() {
+        updateWatcher();
+        return loadKits();
+    }
+    
+    private void updateWatcher() {
+        if (watcher != null) {
+            watcher.shutdown();
+            watcher = null;
+        }
+        
+        ConfigManager config = plugin.getConfigManager();
+        if (!config.isWatchKitFiles()) return;
+        
+        KitWatcher started = new KitWatcher(plugin, this, getKitsFolder(), config.getKitWatchDelay());
+        try {
+            started.start();
+            watcher = started;
+        } catch (IOException e) {
+            plugin.log("&cCould not watch kits/ for changes: " + e.getMessage());
+        }
+    }
+    
+    public void shutdown() {
+        if (watcher != null) {
+            watcher.shutdown();
+            watcher = null;
+        }
+        parserPool.shutdownNow();
+        saver.shutdown();
     }
     
     public Kit getKit(String id) {
         return kits.get(id.toLowerCase());
     }
     
+    public int getOrdinal(String id) {
+        String key = id.toLowerCase();
+        Integer ordinal = ordinals.get(key);
+        if (ordinal != null) return ordinal;
+        
+        synchronized (ordinals) {
+            ordinal = ordinals.get(key);
+            if (ordinal == null) {
+                ordinal = ordinalIds.size();
+                ordinalIds.add(key);
+                ordinals.put(key, ordinal);
+            }
+            return ordinal;
+        }
+    }
+    
+    public int findOrdinal(String id) {
+        Integer ordinal = ordinals.get(id.toLowerCase());
+        return ordinal != null ? ordinal : -1;
+    }
+    
+    public String getIdByOrdinal(int ordinal) {
+        return ordinal >= 0 && ordinal < ordinalIds.size() ? ordinalIds.get(ordinal) : null;
+    }
+    
     public Collection<Kit> getAllKits() {
         return Collections.unmodifiableCollection(kits.values());
     }
@@ -100,14 +529,178 @@ public class KitsManager {
     }
     
     public List<Kit> getAvailableKits(Player player) {
-        List<Kit> available = new ArrayList<>();
-        for (Kit kit : kits.values()) {
+        KitAccess entry = getAccess(player);
+        return collect(entry.kits, entry.bits, null, entry.count);
+    }
+    
+    public List<Kit> getAvailableKits(Player player, String category) {
+        long[] mask = categoryIndex.get(category.toLowerCase());
+        if (mask == null) return new ArrayList<>();
+        
+        KitAccess entry = getAccess(player);
+        return collect(entry.kits, entry.bits, mask, 16);
+    }
+    
+    public int countAvailableKits(Player player, String category) {
+        long[] mask = categoryIndex.get(category.toLowerCase());
+        if (mask == null) return 0;
+        
+        long[] bits = getAccess(player).bits;
+        int count = 0;
+        for (int word = 0; word < Math.min(bits.length, mask.length); word++) {
+            count += Long.bitCount(bits[word] & mask[word]);
+        }
+        return count;
+    }
+    
+    public int countKitsByCategory(String category) {
+        return countBits(categoryIndex.get(category.toLowerCase()));
+    }
+    
+    public int countKitsByTag(String tag) {
+        return countBits(tagIndex.get(tag.toLowerCase()));
+    }
+    
+    private int countBits(long[] bits) {
+        if (bits == null) return 0;
+        
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+    
+    public List<Kit> getKitsByCategory(String category) {
+        long[] bits = categoryIndex.get(category.toLowerCase());
+        return bits != null ? collect(kitsByOrdinal, bits, null, 16) : new ArrayList<>();
+    }
+    
+    public List<Kit> getKitsByTag(String tag) {
+        long[] bits = tagIndex.get(tag.toLowerCase());
+        return bits != null ? collect(kitsByOrdinal, bits, null, 16) : new ArrayList<>();
+    }
+    
+    public Set<String> getCategories() {
+        return categoryIndex.keySet();
+    }
+    
+    public Set<String> getTags() {
+        return tagIndex.keySet();
+    }
+    
+    public boolean categoryExists(String category) {
+        return categoryIndex.containsKey(category.toLowerCase());
+    }
+    
+    private List<Kit> collect(Kit[] snapshot, long[] bits, long[] mask, int expected) {
+        int[] order = displayOrder;
+        long[] keys = new long[Math.max(expected, 16)];
+        int count = 0;
+        int words = mask != null ? Math.min(bits.length, mask.length) : bits.length;
+        for (int word = 0; word < words; word++) {
+            long remaining = mask != null ? bits[word] & mask[word] : bits[word];
+            while (remaining != 0) {
+                int ordinal = (word << 6) + Long.numberOfTrailingZeros(remaining);
+                if (ordinal < snapshot.length && snapshot[ordinal] != null) {
+                    if (count == keys.length) {
+                        keys = Arrays.copyOf(keys, count * 2);
+                    }
+                    long position = ordinal < order.length ? order[ordinal] : Integer.MAX_VALUE;
+                    keys[count++] = position << 32 | ordinal;
+                }
+                remaining &= remaining - 1;
+            }
+        }
+        
+        Arrays.sort(keys, 0, count);
+        List<Kit> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(snapshot[(int) keys[i]]);
+        }
+        return result;
+    }
+    
+    public boolean canAccess(Player player, Kit kit) {
+        KitAccess entry = getAccess(player);
+        int ordinal = findOrdinal(kit.getId());
+        return ordinal >= 0 && ordinal < entry.kits.length && (entry.bits[ordinal >> 6] & (1L << ordinal)) != 0;
+    }
+    
+    public void refreshAccess(Player player) {
+        access.put(player.getUniqueId(), computeAccess(player, kitsByOrdinal));
+    }
+    
+    public void invalidateAccess(UUID uuid) {
+        access.remove(uuid);
+    }
+    
+    private KitAccess getAccess(Player player) {
+        Kit[] snapshot = kitsByOrdinal;
+        KitAccess entry = access.get(player.getUniqueId());
+        if (entry != null && entry.kits == snapshot && System.currentTimeMillis() < entry.expiresAt) {
+            return entry;
+        }
+        
+        entry = computeAccess(player, snapshot);
+        access.put(player.getUniqueId(), entry);
+        return entry;
+    }
+    
+    private KitAccess computeAccess(Player player, Kit[] snapshot) {
+        long[] bits = new long[(snapshot.length + 63) >> 6];
+        int count = 0;
+        for (int ordinal = 0; ordinal < snapshot.length; ordinal++) {
+            Kit kit = snapshot[ordinal];
+            if (kit == null) continue;
+            
             String perm = kit.getPermission();
             if (perm == null || perm.isEmpty() || player.hasPermission(perm)) {
-                available.add(kit);
+                bits[ordinal >> 6] |= 1L << ordinal;
+                count++;
+            }
+        }
+        long ttl = plugin.getConfigManager().getPermissionCacheMillis();
+        return new KitAccess(snapshot, bits, count, System.currentTimeMillis() + ttl);
+    }
+    
+    private void setDefinitions(Map<String, KitDefinition> source, Map<String, Kit> resolved) {
+        definitions = Collections.unmodifiableMap(source);
+        setRegistry(resolved);
+    }
+    
+    private void setRegistry(Map<String, Kit> updated) {
+        Kit[] byOrdinal = new Kit[0];
+        int[] order = new int[0];
+        int position = 0;
+        for (Kit kit : updated.values()) {
+            int ordinal = getOrdinal(kit.getId());
+            if (ordinal >= byOrdinal.length) {
+                byOrdinal = Arrays.copyOf(byOrdinal, Math.max(ordinal + 1, byOrdinal.length * 2));
+                order = Arrays.copyOf(order, byOrdinal.length);
+            }
+            byOrdinal[ordinal] = kit;
+            order[ordinal] = position++;
+        }
+        
+        int words = (byOrdinal.length + 63) >> 6;
+        Map<String, long[]> categories = new TreeMap<>();
+        Map<String, long[]> tags = new TreeMap<>();
+        for (int ordinal = 0; ordinal < byOrdinal.length; ordinal++) {
+            Kit kit = byOrdinal[ordinal];
+            if (kit == null) continue;
+            
+            categories.computeIfAbsent(kit.getCategory(), key -> new long[words])[ordinal >> 6] |= 1L << ordinal;
+            for (String tag : kit.getTags()) {
+                tags.computeIfAbsent(tag, key -> new long[words])[ordinal >> 6] |= 1L << ordinal;
             }
         }
-        return available;
+        
+        kits = Collections.unmodifiableMap(updated);
+        categoryIndex = Collections.unmodifiableMap(categories);
+        tagIndex = Collections.unmodifiableMap(tags);
+        displayOrder = order;
+        kitsByOrdinal = byOrdinal;
     }
     
     public boolean kitExists(String id) {
@@ -115,26 +708,26 @@ public class KitsManager {
     }
     
     public void createKit(String id, String displayName, Player player) {
-        Kit kit = new Kit(id);
-        kit.setDisplayName(displayName);
-        kit.setPermission("oakkits.kit." + id);
+        Kit.Builder kit = Kit.builder(id)
+            .displayName(displayName)
+            .permission("oakkits.kit." + id);
         
         PlayerInventory inv = player.getInventory();
         
         for (int i = 0; i < 36; i++) {
             ItemStack item = inv.getItem(i);
             if (item != null && item.getType() != Material.AIR) {
-                kit.addItem(item.clone());
+                kit.addItem(item);
             }
         }
         
-        if (inv.getHelmet() != null) kit.setArmorPiece("helmet", inv.getHelmet().clone());
-        if (inv.getChestplate() != null) kit.setArmorPiece("chestplate", inv.getChestplate().clone());
-        if (inv.getLeggings() != null) kit.setArmorPiece("leggings", inv.getLeggings().clone());
-        if (inv.getBoots() != null) kit.setArmorPiece("boots", inv.getBoots().clone());
+        kit.armorPiece("helmet", inv.getHelmet());
+        kit.armorPiece("chestplate", inv.getChestplate());
+        kit.armorPiece("leggings", inv.getLeggings());
+        kit.armorPiece("boots", inv.getBoots());
         
-        kits.put(id.toLowerCase(), kit);
-        saveKit(kit);
+        getOrdinal(id);
+        saveKit(kit.build());
     }
     
     public void createKit(String id, Player player) {
@@ -142,46 +735,179 @@ public class KitsManager {
     }
     
     public void deleteKit(String id) {
-        kits.remove(id.toLowerCase());
-        kitsConfig.set("kits." + id.toLowerCase(), null);
-        saveKitsConfig();
+        String key = id.toLowerCase();
+        KitDefinition removed;
+        List<KitDefinition> detached = new ArrayList<>();
+        synchronized (registryLock) {
+            Map<String, KitDefinition> updated = new LinkedHashMap<>(definitions);
+            removed = updated.remove(key);
+            for (Map.Entry<String, KitDefinition> entry : updated.entrySet()) {
+                Kit flattened = kits.get(entry.getKey());
+                if (key.equals(entry.getValue().parent) && flattened != null) {
+                    entry.setValue(KitDefinition.standalone(flattened));
+                    detached.add(entry.getValue());
+                    recordEdit(entry.getKey(), entry.getValue());
+                }
+            }
+            recordEdit(key, null);
+            setDefinitions(updated, resolve(updated));
+        }
+        
+        if (removed != null) {
+            saver.markDeleted(removed.kit.getId());
+        }
+        for (KitDefinition definition : detached) {
+            plugin.log("&eKit " + definition.kit.getId() + " extended deleted kit " + id + " and now stands alone");
+            saver.markDirty(definition);
+        }
         plugin.getDataManager().clearKitData(id);
     }
     
     public void saveKit(Kit kit) {
-        String path = "kits." + kit.getId();
+        KitDefinition definition;
+        synchronized (registryLock) {
+            definition = toDefinition(kit);
+            Map<String, KitDefinition> updated = new LinkedHashMap<>(definitions);
+            updated.put(kit.getId().toLowerCase(), definition);
+            recordEdit(kit.getId().toLowerCase(), definition);
+            setDefinitions(updated, resolve(updated));
+        }
+        saver.markDirty(definition);
+    }
+    
+    private KitDefinition toDefinition(Kit kit) {
+        KitDefinition current = definitions.get(kit.getId().toLowerCase());
+        Kit base = current != null && current.parent != null ? kits.get(current.parent) : null;
+        if (base == null) return KitDefinition.standalone(kit);
         
-        kitsConfig.set(path + ".display-name", kit.getDisplayName());
-        kitsConfig.set(path + ".permission", kit.getPermission());
-        kitsConfig.set(path + ".cooldown", kit.getFormattedCooldown());
-        kitsConfig.set(path + ".cost", kit.getCost());
-        kitsConfig.set(path + ".one-time", kit.isOneTime());
-        kitsConfig.set(path + ".commands", kit.getCommands());
+        List<ItemStack> items = remainder(base.getItems(), kit.getItems());
+        List<String> commands = remainder(base.getCommands(), kit.getCommands());
+        boolean representable = items != null && commands != null && kit.getTags().containsAll(base.getTags());
         
-        List<Map<String, Object>> itemsList = new ArrayList<>();
-        for (ItemStack item : kit.getItems()) {
-            itemsList.add(serializeItem(item));
+        Kit.Builder local = kit.toBuilder().clearItems().clearArmor();
+        for (int slot = 0; representable && slot < Kit.ARMOR_SLOTS.length; slot++) {
+            ItemStack piece = kit.getArmorPiece(slot);
+            if (piece == null && base.getArmorPiece(slot) != null) {
+                representable = false;
+            } else if (piece != null && !piece.equals(base.getArmorPiece(slot))) {
+                local.armorPiece(Kit.ARMOR_SLOTS[slot], piece);
+            }
+        }
+        
+        if (!representable) {
+            plugin.debug("Kit " + kit.getId() + " no longer extends " + current.parent + ": it removes inherited items");
+            return KitDefinition.standalone(kit);
         }
-        kitsConfig.set(path + ".items", itemsList);
         
-        Map<String, ItemStack> armor = kit.getArmor();
-        for (Map.Entry<String, ItemStack> entry : armor.entrySet()) {
-            kitsConfig.set(path + ".armor." + entry.getKey(), serializeItem(entry.getValue()));
+        for (ItemStack item : items) {
+            local.addItem(item);
         }
+        Set<String> tags = new LinkedHashSet<>(kit.getTags());
+        tags.removeAll(base.getTags());
+        local.tags(tags).commands(commands);
         
-        saveKitsConfig();
+        int declared = current.declared;
+        if (kit.getCooldown() != base.getCooldown()) declared |= KitDefinition.COOLDOWN;
+        if (kit.getCost() != base.getCost()) declared |= KitDefinition.COST;
+        if (kit.isOneTime() != base.isOneTime()) declared |= KitDefinition.ONE_TIME;
+        if (!kit.getCategory().equals(base.getCategory())) declared |= KitDefinition.CATEGORY;
+        return new KitDefinition(local.build(), current.parent, declared);
+    }
+    
+    private <T> List<T> remainder(List<T> prefix, List<T> list) {
+        if (list.size() < prefix.size() || !list.subList(0, prefix.size()).equals(prefix)) return null;
+        return list.subList(prefix.size(), list.size());
     }
     
-    private void saveKitsConfig() {
+    void writeKitFile(KitDefinition definition) {
+        Kit kit = definition.kit;
+        String yaml = serializeKit(definition).saveToString();
+        fileHashes.put(kit.getId(), KitCache.hash(yaml.getBytes(StandardCharsets.UTF_8)));
         synchronized (saveLock) {
             try {
-                kitsConfig.save(kitsFile);
+                writeAtomically(getKitFile(kit.getId()), yaml);
             } catch (IOException e) {
-                plugin.log("&cFailed to save kits.yml: " + e.getMessage());
+                plugin.log("&cFailed to save kits/" + kit.getId() + KIT_FILE_SUFFIX + ": " + e.getMessage());
             }
         }
     }
     
+    void deleteKitFile(String id) {
+        fileHashes.remove(id);
+        synchronized (saveLock) {
+            try {
+                Files.deleteIfExists(getKitFile(id).toPath());
+            } catch (IOException e) {
+                plugin.log("&cFailed to delete kits/" + id + KIT_FILE_SUFFIX + ": " + e.getMessage());
+            }
+        }
+    }
+    
+    private YamlConfiguration serializeKit(KitDefinition definition) {
+        Kit kit = definition.kit;
+        boolean standalone = definition.parent == null;
+        YamlConfiguration config = new YamlConfiguration();
+        if (!standalone) {
+            config.set("extends", definition.parent);
+        }
+        config.set("display-name", kit.getDisplayName());
+        config.set("permission", kit.getPermission());
+        if (definition.declares(KitDefinition.COOLDOWN)) {
+            config.set("cooldown", kit.getFormattedCooldown());
+        }
+        if (definition.declares(KitDefinition.COST)) {
+            config.set("cost", kit.getCost());
+        }
+        if (definition.declares(KitDefinition.ONE_TIME)) {
+            config.set("one-time", kit.isOneTime());
+        }
+        if (definition.declares(KitDefinition.CATEGORY) && (!standalone || !kit.getCategory().equals(Kit.DEFAULT_CATEGORY))) {
+            config.set("category", kit.getCategory());
+        }
+        if (!kit.getTags().isEmpty()) {
+            config.set("tags", new ArrayList<>(kit.getTags()));
+        }
+        if (standalone || !kit.getCommands().isEmpty()) {
+            config.set("commands", kit.getCommands());
+        }
+        
+        List<Map<String, Object>> itemsList = new ArrayList<>();
+        for (ItemStack item : kit.getItems()) {
+            itemsList.add(serializeItem(item));
+        }
+        if (standalone || !itemsList.isEmpty()) {
+            config.set("items", itemsList);
+        }
+        
+        for (Map.Entry<String, ItemStack> entry : kit.getArmor().entrySet()) {
+            config.set("armor." + entry.getKey(), serializeItem(entry.getValue()));
+        }
+        return config;
+    }
+    
+    private void writeAtomically(File target, String content) throws IOException {
+        Path path = target.toPath();
+        Path temp = path.resolveSibling(target.getName() + ".tmp");
+        Files.write(temp, content.getBytes(StandardCharsets.UTF_8));
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    private File getKitsFolder() {
+        return new File(plugin.getDataFolder(), "kits");
+    }
+    
+    private File getKitFile(String id) {
+        return new File(getKitsFolder(), id + KIT_FILE_SUFFIX);
+    }
+    
+    public static boolean isValidId(String id) {
+        return !id.isEmpty() && VALID_ID.matcher(id).matches();
+    }
+    
     @SuppressWarnings("deprecation")
     private ItemStack parseItem(Map<?, ?> itemMap) {
         try {
@@ -302,4 +1028,26 @@ public class KitsManager {
         
         return map;
     }
+    
+    private static final class KitAccess {
+        
+        private final Kit[] kits;
+        private final long[] bits;
+        private final int count;
+        private final long expiresAt;
+        
+        private KitAccess(Kit[] kits, long[] bits, int count, long expiresAt) {
+            this.kits = kits;
+            this.bits = bits;
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+    }
+    
+    private static final class LoadResult {
+        
+        private final Map<String, KitDefinition> definitions = new LinkedHashMap<>();
+        private final Map<String, Kit> kits = new LinkedHashMap<>();
+        private long millis;
+    }
 }
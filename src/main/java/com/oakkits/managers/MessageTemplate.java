@@ -0,0 +1,83 @@
+package com.oakkits.managers;
+
+import com.oakkits.utils.ColorUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+final class MessageTemplate {
+    
+    private static final Set<String> UNTRUSTED_KEYS = new HashSet<>(Arrays.asList("player", "target"));
+    
+    private final String[] literals;
+    private final String[] mobileLiterals;
+    private final String[] keys;
+    private final boolean[] trusted;
+    private final int length;
+    
+    private MessageTemplate(List<String> literals, List<String> keys) {
+        this.literals = new String[literals.size()];
+        this.mobileLiterals = new String[literals.size()];
+        this.keys = keys.toArray(new String[0]);
+        this.trusted = new boolean[this.keys.length];
+        for (int i = 0; i < this.keys.length; i++) {
+            this.trusted[i] = !UNTRUSTED_KEYS.contains(this.keys[i]);
+        }
+        
+        int total = 0;
+        for (int i = 0; i < this.literals.length; i++) {
+            this.literals[i] = ColorUtil.colorize(literals.get(i));
+            this.mobileLiterals[i] = BedrockManager.toMobileFriendly(this.literals[i]);
+            total += this.literals[i].length();
+        }
+        this.length = total;
+    }
+    
+    static MessageTemplate compile(String raw) {
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        
+        int last = 0;
+        int open = raw.indexOf('{');
+        while (open >= 0) {
+            int close = raw.indexOf('}', open + 1);
+            if (close < 0) break;
+            
+            int nested = raw.lastIndexOf('{', close);
+            if (nested > open) {
+                open = nested;
+            }
+            literals.add(raw.substring(last, open));
+            keys.add(raw.substring(open + 1, close));
+            last = close + 1;
+            open = raw.indexOf('{', last);
+        }
+        literals.add(raw.substring(last));
+        return new MessageTemplate(literals, keys);
+    }
+    
+    String render(Function<String, String> placeholders, boolean mobile) {
+        String[] parts = mobile ? mobileLiterals : literals;
+        if (keys.length == 0) return parts[0];
+        
+        StringBuilder builder = new StringBuilder(length + keys.length * 16);
+        builder.append(parts[0]);
+        for (int i = 0; i < keys.length; i++) {
+            String value = placeholders != null ? placeholders.apply(keys[i]) : null;
+            if (value == null) {
+                builder.append('{').append(keys[i]).append('}');
+            } else {
+                if (trusted[i] && value.indexOf('&') >= 0) {
+                    value = ColorUtil.colorize(value);
+                }
+                builder.append(mobile ? BedrockManager.toMobileFriendly(value) : value);
+            }
+            builder.append(parts[i + 1]);
+        }
+        return builder.toString();
+    }
+}
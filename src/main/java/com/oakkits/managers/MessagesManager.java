@@ -6,15 +6,24 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public class MessagesManager {
     
     private final OakKits plugin;
     private FileConfiguration messages;
     private String prefix;
+    private String rawPrefix;
+    private volatile Map<String, MessageTemplate> templates = new ConcurrentHashMap<>();
+    private volatile Map<String, MessageTemplate> chatTemplates = new ConcurrentHashMap<>();
+    private volatile Map<String, MessageTemplate> actionBarTemplates = new ConcurrentHashMap<>();
     
     public MessagesManager(OakKits plugin) {
         this.plugin = plugin;
@@ -22,13 +31,31 @@ public class MessagesManager {
     }
     
     public void loadMessages() {
+        applyMessages(readMessages());
+    }
+    
+    public FileConfiguration readMessages() {
         File messagesFile = new File(plugin.getDataFolder(), "messages.yml");
         if (!messagesFile.exists()) {
             plugin.saveResource("messages.yml", false);
         }
         
-        messages = YamlConfiguration.loadConfiguration(messagesFile);
-        prefix = ColorUtil.colorize(messages.getString("prefix", "&8[&6OakKits&8] "));
+        FileConfiguration loaded = YamlConfiguration.loadConfiguration(messagesFile);
+        
+        InputStream defaults = plugin.getResource("messages.yml");
+        if (defaults != null) {
+            loaded.setDefaults(YamlConfiguration.loadConfiguration(new InputStreamReader(defaults, StandardCharsets.UTF_8)));
+        }
+        return loaded;
+    }
+    
+    public void applyMessages(FileConfiguration loaded) {
+        messages = loaded;
+        rawPrefix = messages.getString("prefix", "&8[&6OakKits&8] ");
+        prefix = ColorUtil.colorize(rawPrefix);
+        templates = new ConcurrentHashMap<>();
+        chatTemplates = new ConcurrentHashMap<>();
+        actionBarTemplates = new ConcurrentHashMap<>();
     }
     
     public void reload() {
@@ -40,33 +67,74 @@ public class MessagesManager {
     }
     
     public String getMessage(String path) {
-        return ColorUtil.colorize(messages.getString(path, "&cMessage not found: " + path));
+        return template(path).render(null, false);
     }
     
     public String getMessage(String path, Map<String, String> placeholders) {
-        String message = messages.getString(path, "&cMessage not found: " + path);
-        if (placeholders != null) {
-            for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-                message = message.replace("{" + entry.getKey() + "}", entry.getValue());
-            }
+        return template(path).render(placeholders != null ? placeholders::get : null, false);
+    }
+    
+    public String getMessage(String path, Function<String, String> placeholders) {
+        return template(path).render(placeholders, false);
+    }
+    
+    private MessageTemplate template(String path) {
+        Map<String, MessageTemplate> compiled = templates;
+        MessageTemplate template = compiled.get(path);
+        if (template == null) {
+            template = MessageTemplate.compile(getRaw(path));
+            compiled.put(path, template);
+        }
+        return template;
+    }
+    
+    private MessageTemplate chatTemplate(String path) {
+        Map<String, MessageTemplate> compiled = chatTemplates;
+        MessageTemplate template = compiled.get(path);
+        if (template == null) {
+            template = MessageTemplate.compile(rawPrefix + getRaw(path + ".chat"));
+            compiled.put(path, template);
+        }
+        return template;
+    }
+    
+    private MessageTemplate actionBarTemplate(String path) {
+        Map<String, MessageTemplate> compiled = actionBarTemplates;
+        MessageTemplate template = compiled.get(path);
+        if (template == null) {
+            template = MessageTemplate.compile(getRaw(path + ".actionbar"));
+            compiled.put(path, template);
         }
-        return ColorUtil.colorize(message);
+        return template;
+    }
+    
+    private String getRaw(String path) {
+        String message = messages.getString(path);
+        return message != null ? message : "&cMessage not found: " + path;
     }
     
     public String getChatMessage(String path) {
-        return prefix + getMessage(path + ".chat");
+        return chatTemplate(path).render(null, false);
     }
     
     public String getChatMessage(String path, Map<String, String> placeholders) {
-        return prefix + getMessage(path + ".chat", placeholders);
+        return chatTemplate(path).render(placeholders != null ? placeholders::get : null, false);
+    }
+    
+    public String getChatMessage(String path, Function<String, String> placeholders, boolean mobile) {
+        return chatTemplate(path).render(placeholders, mobile);
     }
     
     public String getActionBarMessage(String path) {
-        return getMessage(path + ".actionbar");
+        return actionBarTemplate(path).render(null, false);
     }
     
     public String getActionBarMessage(String path, Map<String, String> placeholders) {
-        return getMessage(path + ".actionbar", placeholders);
+        return actionBarTemplate(path).render(placeholders != null ? placeholders::get : null, false);
+    }
+    
+    public String getActionBarMessage(String path, Function<String, String> placeholders, boolean mobile) {
+        return actionBarTemplate(path).render(placeholders, mobile);
     }
     
     public List<String> getStringList(String path) {
@@ -0,0 +1,140 @@
+package com.oakkits.managers;
+
+import com.oakkits.OakKits;
+import com.oakkits.utils.ActionBarUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class NotificationManager {
+    
+    private final OakKits plugin;
+    private final Map<UUID, Pending> pending = new ConcurrentHashMap<>();
+    private final Map<UUID, Sent> sent = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    
+    public NotificationManager(OakKits plugin) {
+        this.plugin = plugin;
+    }
+    
+    public void sendActionBar(Player player, String message) {
+        queueActionBar(player, message, false);
+    }
+    
+    public void sendConfirmation(Player player, String message) {
+        queueActionBar(player, message, true);
+    }
+    
+    private void queueActionBar(Player player, String message, boolean always) {
+        if (player == null || message == null) return;
+        
+        pending.compute(player.getUniqueId(), (uuid, entry) ->
+            (entry != null ? entry : new Pending(player)).withActionBar(message, always));
+        schedule();
+    }
+    
+    public void sendTitle(Player player, String title, String subtitle, int fadeIn, int stay, int fadeOut) {
+        if (player == null) return;
+        
+        Title next = new Title(title != null ? title : "", subtitle != null ? subtitle : "", fadeIn, stay, fadeOut);
+        pending.compute(player.getUniqueId(), (uuid, entry) ->
+            (entry != null ? entry : new Pending(player)).withTitle(next));
+        schedule();
+    }
+    
+    public void forgetPlayer(UUID uuid) {
+        pending.remove(uuid);
+        sent.remove(uuid);
+    }
+    
+    private void schedule() {
+        if (plugin.isEnabled() && scheduled.compareAndSet(false, true)) {
+            Bukkit.getScheduler().runTask(plugin, this::flush);
+        }
+    }
+    
+    private void flush() {
+        scheduled.set(false);
+        long now = System.currentTimeMillis();
+        long repeatDelay = plugin.getConfigManager().getNotificationRepeatDelay();
+        
+        for (UUID uuid : pending.keySet()) {
+            Pending entry = pending.remove(uuid);
+            if (entry == null || !entry.player.isOnline()) continue;
+            
+            Sent last = sent.computeIfAbsent(uuid, key -> new Sent());
+            if (entry.actionBar != null && (entry.alwaysSend
+                || !entry.actionBar.equals(last.actionBar) || now - last.actionBarAt >= repeatDelay)) {
+                ActionBarUtil.sendActionBar(entry.player, entry.actionBar);
+                last.actionBar = entry.actionBar;
+                last.actionBarAt = now;
+            }
+            
+            Title title = entry.title;
+            if (title != null) {
+                String key = title.main + '\n' + title.subtitle;
+                if (!key.equals(last.title) || now - last.titleAt >= repeatDelay) {
+                    entry.player.sendTitle(title.main, title.subtitle, title.fadeIn, title.stay, title.fadeOut);
+                    last.title = key;
+                    last.titleAt = now;
+                }
+            }
+        }
+    }
+    
+    private static final class Pending {
+        
+        private final Player player;
+        private final String actionBar;
+        private final boolean alwaysSend;
+        private final Title title;
+        
+        private Pending(Player player) {
+            this(player, null, false, null);
+        }
+        
+        private Pending(Player player, String actionBar, boolean alwaysSend, Title title) {
+            this.player = player;
+            this.actionBar = actionBar;
+            this.alwaysSend = alwaysSend;
+            this.title = title;
+        }
+        
+        private Pending withActionBar(String message, boolean always) {
+            return new Pending(player, message, always, title);
+        }
+        
+        private Pending withTitle(Title next) {
+            return new Pending(player, actionBar, alwaysSend, next);
+        }
+    }
+    
+    private static final class Title {
+        
+        private final String main;
+        private final String subtitle;
+        private final int fadeIn;
+        private final int stay;
+        private final int fadeOut;
+        
+        private Title(String main, String subtitle, int fadeIn, int stay, int fadeOut) {
+            this.main = main;
+            this.subtitle = subtitle;
+            this.fadeIn = fadeIn;
+            this.stay = stay;
+            this.fadeOut = fadeOut;
+        }
+    }
+    
+    private static final class Sent {
+        
+        private String actionBar;
+        private long actionBarAt;
+        private String title;
+        private long titleAt;
+    }
+}
@@ -9,34 +9,83 @@ import com.oakkits.utils.ColorUtil;
 import com.oakkits.utils.TimeUtil;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
 
-public class Kit {
+public final class Kit {
+    
+    public static final String[] ARMOR_SLOTS = {"helmet", "chestplate", "leggings", "boots"};
+    public static final int HELMET = 0;
+    public static final int CHESTPLATE = 1;
+    public static final int LEGGINGS = 2;
+    public static final int BOOTS = 3;
+    public static final String DEFAULT_CATEGORY = "default";
     
     private final String id;
-    private volatile String displayName;
-    private volatile String permission;
-    private volatile long cooldown;
-    private volatile double cost;
-    private volatile boolean oneTime;
-    private final List<ItemStack> items;
-    private final Map<String, ItemStack> armor;
+    private final String displayName;
+    private final String permission;
+    private final long cooldown;
+    private final double cost;
+    private final boolean oneTime;
+    private final String category;
+    private final Set<String> tags;
+    private final ItemStack[] contents;
+    private final ItemStack[] armor;
     private final List<String> commands;
     
-    public Kit(String id) {
-        this.id = id;
-        this.displayName = id;
-        this.permission = "oakkits.kit." + id;
-        this.cooldown = 0;
-        this.cost = 0;
-        this.oneTime = false;
-        this.items = new CopyOnWriteArrayList<>();
-        this.armor = new ConcurrentHashMap<>();
-        this.commands = new CopyOnWriteArrayList<>();
+    private Kit(Builder builder) {
+        this.id = builder.id;
+        this.displayName = builder.displayName;
+        this.permission = builder.permission;
+        this.cooldown = builder.cooldown;
+        this.cost = builder.cost;
+        this.oneTime = builder.oneTime;
+        this.category = builder.category;
+        this.tags = Collections.unmodifiableSet(new LinkedHashSet<>(builder.tags));
+        this.contents = copyOf(builder.items.toArray(new ItemStack[0]));
+        this.armor = copyOf(builder.armor);
+        this.commands = Collections.unmodifiableList(new ArrayList<>(builder.commands));
+    }
+    
+    public static Builder builder(String id) {
+        return new Builder(id);
+    }
+    
+    public Builder toBuilder() {
+        Builder builder = new Builder(id);
+        builder.displayName = displayName;
+        builder.permission = permission;
+        builder.cooldown = cooldown;
+        builder.cost = cost;
+        builder.oneTime = oneTime;
+        builder.category = category;
+        builder.tags.addAll(tags);
+        builder.items.addAll(Arrays.asList(copyOf(contents)));
+        System.arraycopy(copyOf(armor), 0, builder.armor, 0, armor.length);
+        builder.commands.addAll(commands);
+        return builder;
+    }
+    
+    private static ItemStack[] copyOf(ItemStack[] stacks) {
+        ItemStack[] copy = new ItemStack[stacks.length];
+        for (int i = 0; i < stacks.length; i++) {
+            copy[i] = stacks[i] != null ? stacks[i].clone() : null;
+        }
+        return copy;
+    }
+    
+    public static int armorSlot(String name) {
+        if (name == null) return -1;
+        for (int i = 0; i < ARMOR_SLOTS.length; i++) {
+            if (ARMOR_SLOTS[i].equalsIgnoreCase(name)) return i;
+        }
+        return -1;
     }
     
     public String getId() {
@@ -47,140 +96,217 @@ public class Kit {
         return displayName;
     }
     
-    public void setDisplayName(String displayName) {
-        this.displayName = displayName;
-    }
-    
     public String getPermission() {
         return permission;
     }
     
-    public void setPermission(String permission) {
-        this.permission = permission;
-    }
-    
     public long getCooldown() {
         return cooldown;
     }
     
-    public void setCooldown(long cooldown) {
-        this.cooldown = cooldown;
-    }
-    
-    public void setCooldown(String cooldownStr) {
-        this.cooldown = TimeUtil.parseTime(cooldownStr);
-    }
-    
-    public void setCooldownRaw(long cooldownMs) {
-        this.cooldown = cooldownMs;
-    }
-    
     public double getCost() {
         return cost;
     }
     
-    public void setCost(double cost) {
-        this.cost = cost;
-    }
-    
     public boolean isOneTime() {
         return oneTime;
     }
     
-    public void setOneTime(boolean oneTime) {
-        this.oneTime = oneTime;
-    }
-    
-    public List<ItemStack> getItems() {
-        return items;
+    public String getCategory() {
+        return category;
     }
     
-    public List<ItemStack> getItemsCopy() {
-        return new ArrayList<>(items);
+    public Set<String> getTags() {
+        return tags;
     }
     
-    public void setItems(List<ItemStack> items) {
-        this.items.clear();
-        if (items != null) {
-            this.items.addAll(items);
-        }
+    public List<ItemStack> getItems() {
+        return Collections.unmodifiableList(Arrays.asList(copyOf(contents)));
     }
     
-    public void addItem(ItemStack item) {
-        if (item != null) {
-            this.items.add(item.clone());
-        }
+    public int getItemCount() {
+        return contents.length;
     }
     
     public Map<String, ItemStack> getArmor() {
-        return armor;
-    }
-    
-    public Map<String, ItemStack> getArmorCopy() {
-        return new HashMap<>(armor);
+        Map<String, ItemStack> pieces = new LinkedHashMap<>();
+        for (int i = 0; i < ARMOR_SLOTS.length; i++) {
+            if (armor[i] != null) pieces.put(ARMOR_SLOTS[i], armor[i].clone());
+        }
+        return Collections.unmodifiableMap(pieces);
     }
     
-    public void setArmor(Map<String, ItemStack> armor) {
-        this.armor.clear();
-        if (armor != null) {
-            this.armor.putAll(armor);
-        }
+    public ItemStack getArmorPiece(int slot) {
+        return armor[slot] != null ? armor[slot].clone() : null;
     }
     
-    public void setArmorPiece(String slot, ItemStack item) {
-        if (slot != null && item != null) {
-            this.armor.put(slot.toLowerCase(), item.clone());
-        }
+    public boolean hasArmorPiece(int slot) {
+        return armor[slot] != null;
     }
     
     public ItemStack getHelmet() {
-        return armor.get("helmet");
+        return getArmorPiece(HELMET);
     }
     
     public ItemStack getChestplate() {
-        return armor.get("chestplate");
+        return getArmorPiece(CHESTPLATE);
     }
     
     public ItemStack getLeggings() {
-        return armor.get("leggings");
+        return getArmorPiece(LEGGINGS);
     }
     
     public ItemStack getBoots() {
-        return armor.get("boots");
+        return getArmorPiece(BOOTS);
     }
     
     public List<String> getCommands() {
         return commands;
     }
     
-    public List<String> getCommandsCopy() {
-        return new ArrayList<>(commands);
-    }
-    
-    public void setCommands(List<String> commands) {
-        this.commands.clear();
-        if (commands != null) {
-            this.commands.addAll(commands);
-        }
-    }
-    
     public List<ItemStack> getAllItems() {
-        List<ItemStack> allItems = new ArrayList<>(items);
-        if (armor.get("helmet") != null) allItems.add(armor.get("helmet"));
-        if (armor.get("chestplate") != null) allItems.add(armor.get("chestplate"));
-        if (armor.get("leggings") != null) allItems.add(armor.get("leggings"));
-        if (armor.get("boots") != null) allItems.add(armor.get("boots"));
+        List<ItemStack> allItems = new ArrayList<>(getItems());
+        allItems.addAll(getArmor().values());
         return allItems;
     }
     
     public int getTotalSlots() {
-        return items.size();
+        return contents.length;
     }
     
     public String getFormattedCooldown() {
         return TimeUtil.formatTime(cooldown);
     }
     
+    public static final class Builder {
+        
+        private final String id;
+        private String displayName;
+        private String permission;
+        private long cooldown;
+        private double cost;
+        private boolean oneTime;
+        private String category = DEFAULT_CATEGORY;
+        private final Set<String> tags = new LinkedHashSet<>();
+        private final List<ItemStack> items = new ArrayList<>();
+        private final ItemStack[] armor = new ItemStack[ARMOR_SLOTS.length];
+        private final List<String> commands = new ArrayList<>();
+        
+        private Builder(String id) {
+            this.id = id;
+            this.displayName = id;
+            this.permission = "oakkits.kit." + id;
+        }
+        
+        public Builder displayName(String displayName) {
+            this.displayName = displayName;
+            return this;
+        }
+        
+        public Builder permission(String permission) {
+            this.permission = permission;
+            return this;
+        }
+        
+        public Builder cooldown(long cooldownMs) {
+            this.cooldown = cooldownMs;
+            return this;
+        }
+        
+        public Builder cooldown(String cooldownStr) {
+            this.cooldown = TimeUtil.parseTime(cooldownStr);
+            return this;
+        }
+        
+        public Builder cost(double cost) {
+            this.cost = cost;
+            return this;
+        }
+        
+        public Builder oneTime(boolean oneTime) {
+            this.oneTime = oneTime;
+            return this;
+        }
+        
+        public Builder category(String category) {
+            this.category = category == null || category.trim().isEmpty() ? DEFAULT_CATEGORY : category.trim().toLowerCase();
+            return this;
+        }
+        
+        public Builder tags(Collection<String> tags) {
+            this.tags.clear();
+            if (tags != null) {
+                for (String tag : tags) {
+                    if (tag != null && !tag.trim().isEmpty()) {
+                        this.tags.add(tag.trim().toLowerCase());
+                    }
+                }
+            }
+            return this;
+        }
+        
+        public Builder extend(Kit base) {
+            items.addAll(0, Arrays.asList(copyOf(base.contents)));
+            commands.addAll(0, base.commands);
+            for (int i = 0; i < armor.length; i++) {
+                if (armor[i] == null) armor[i] = base.getArmorPiece(i);
+            }
+            
+            Set<String> merged = new LinkedHashSet<>(base.tags);
+            merged.addAll(tags);
+            tags.clear();
+            tags.addAll(merged);
+            return this;
+        }
+        
+        public Builder addItem(ItemStack item) {
+            if (item != null) {
+                items.add(item.clone());
+            }
+            return this;
+        }
+        
+        public Builder clearItems() {
+            items.clear();
+            return this;
+        }
+        
+        public Builder armorPiece(String slot, ItemStack item) {
+            int index = armorSlot(slot);
+            if (index >= 0 && item != null) {
+                armor[index] = item.clone();
+            }
+            return this;
+        }
+        
+        public Builder clearArmor() {
+            Arrays.fill(armor, null);
+            return this;
+        }
+        
+        public Builder commands(List<String> commands) {
+            this.commands.clear();
+            if (commands != null) {
+                this.commands.addAll(commands);
+            }
+            return this;
+        }
+        
+        public Builder addCommand(String command) {
+            commands.add(command);
+            return this;
+        }
+        
+        public Builder removeCommand(int index) {
+            commands.remove(index);
+            return this;
+        }
+        
+        public Kit build() {
+            return new Kit(this);
+        }
+    }
+    
     @SuppressWarnings("deprecation")
     public static ItemStack createItem(Material material, int amount, String name, List<String> lore, Map<String, Integer> enchantments) {
         ItemStack item = new ItemStack(material, amount);
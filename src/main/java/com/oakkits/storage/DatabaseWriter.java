@@ -0,0 +1,343 @@
+package com.oakkits.storage;
+
+import com.oakkits.OakKits;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DatabaseWriter implements Runnable {
+    
+    private static final int MAX_BATCH_SIZE = 512;
+    private static final long BATCH_LINGER_MS = 250L;
+    private static final int MAX_RETRIES = 3;
+    private static final int OVERFLOW_FACTOR = 4;
+    
+    private final OakKits plugin;
+    private final StorageBackend backend;
+    private final BlockingQueue<Mutation> queue;
+    private final ArrayDeque<Mutation> overflow = new ArrayDeque<>();
+    private final int overflowLimit;
+    private final Object submitLock = new Object();
+    private final Map<UUID, Integer> pendingByPlayer = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingGlobal = new AtomicInteger();
+    private final Set<Long> droppedSegments = ConcurrentHashMap.newKeySet();
+    private final Thread thread;
+    private volatile boolean running = true;
+    private boolean saturated;
+    
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile int peakDepth;
+    private volatile long lastBatchMillis;
+    
+    public DatabaseWriter(OakKits plugin, StorageBackend backend, int capacity) {
+        this.plugin = plugin;
+        this.backend = backend;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowLimit = capacity * OVERFLOW_FACTOR;
+        this.thread = new Thread(this, "OakKits-DatabaseWriter");
+        this.thread.setDaemon(true);
+    }
+    
+    public void start() {
+        thread.start();
+    }
+    
+    public boolean submit(Mutation mutation) {
+        synchronized (submitLock) {
+            if (!running) {
+                plugin.debug("Dropped " + mutation.getType() + " submitted after writer shutdown");
+                pin(mutation);
+                return false;
+            }
+            
+            track(mutation);
+            if (overflow.isEmpty() && queue.offer(mutation)) {
+                submitted.incrementAndGet();
+                int depth = queue.size();
+                if (depth > peakDepth) peakDepth = depth;
+                return true;
+            }
+            
+            if (overflow.size() >= overflowLimit) {
+                untrack(mutation);
+                if (mutation.getType() != Mutation.Type.BARRIER) {
+                    dropped.incrementAndGet();
+                    pin(mutation);
+                }
+                if (!saturated) {
+                    saturated = true;
+                    plugin.log("&cDatabase write overflow is full (" + overflow.size() + " pending), dropping new writes"
+                        + (plugin.getConfigManager().isJournalEnabled() ? " until it drains; they stay in the journal for replay" : " until it drains"));
+                }
+                return false;
+            }
+            
+            if (overflow.isEmpty()) {
+                plugin.log("&eDatabase write queue is full (" + queue.size() + " pending), spilling to overflow");
+            }
+            submitted.incrementAndGet();
+            overflow.add(mutation);
+            overflowed.incrementAndGet();
+            return true;
+        }
+    }
+    
+    public boolean hasPendingWrites(UUID uuid) {
+        return pendingGlobal.get() > 0 || pendingByPlayer.containsKey(uuid);
+    }
+    
+    public boolean awaitFlush(long timeoutMs) {
+        return awaitBarrier(enqueueBarrier(), timeoutMs);
+    }
+    
+    public Mutation enqueueBarrier() {
+        Mutation barrier = Mutation.barrier();
+        return submit(barrier) ? barrier : null;
+    }
+    
+    public boolean awaitBarrier(Mutation barrier, long timeoutMs) {
+        if (barrier == null) return false;
+        try {
+            return barrier.getLatch().await(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    public boolean shutdown(long timeoutMs) {
+        synchronized (submitLock) {
+            running = false;
+        }
+        thread.interrupt();
+        try {
+            thread.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            plugin.log("&cDatabase writer did not finish in time, " + getQueueDepth() + " writes pending");
+            synchronized (submitLock) {
+                queue.forEach(this::pin);
+                overflow.forEach(this::pin);
+            }
+            return false;
+        }
+        return true;
+    }
+    
+    @Override
+    public void run() {
+        List<Mutation> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        int attempts = 0;
+        
+        while (running || hasPending() || !batch.isEmpty()) {
+            if (batch.isEmpty()) {
+                collect(batch);
+                if (batch.isEmpty()) continue;
+            }
+            
+            long start = System.currentTimeMillis();
+            try {
+                apply(batch);
+                lastBatchMillis = System.currentTimeMillis() - start;
+                batches.incrementAndGet();
+                written.addAndGet(batch.size());
+                release(batch);
+                plugin.debug("Committed " + batch.size() + " writes in " + lastBatchMillis + "ms (queue: " + getQueueDepth() + ")");
+                batch.clear();
+                attempts = 0;
+            } catch (SQLException e) {
+                failedBatches.incrementAndGet();
+                attempts++;
+                if (attempts >= MAX_RETRIES) {
+                    plugin.log("&cDropping " + batch.size() + " database writes after " + attempts + " failed attempts: " + e.getMessage());
+                    dropped.addAndGet(batch.size());
+                    for (Mutation mutation : batch) {
+                        pin(mutation);
+                    }
+                    release(batch);
+                    batch.clear();
+                    attempts = 0;
+                } else {
+                    plugin.log("&cFailed to write data (attempt " + attempts + "): " + e.getMessage());
+                    pause(attempts * 1000L);
+                }
+            }
+        }
+    }
+    
+    private boolean hasPending() {
+        if (!queue.isEmpty()) return true;
+        synchronized (submitLock) {
+            return !overflow.isEmpty();
+        }
+    }
+    
+    private void collect(List<Mutation> batch) {
+        try {
+            Mutation first = running ? queue.poll(1, TimeUnit.SECONDS) : queue.poll();
+            if (first != null) {
+                batch.add(first);
+                long deadline = System.currentTimeMillis() + BATCH_LINGER_MS;
+                while (running && batch.size() < MAX_BATCH_SIZE) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) break;
+                    Mutation next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            }
+        } catch (InterruptedException e) {
+            // Shutdown wakes the writer; remaining work is drained below.
+        }
+        
+        queue.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+        
+        if (queue.isEmpty() && batch.size() < MAX_BATCH_SIZE) {
+            synchronized (submitLock) {
+                while (!overflow.isEmpty() && batch.size() < MAX_BATCH_SIZE) {
+                    batch.add(overflow.poll());
+                }
+                if (overflow.isEmpty()) {
+                    saturated = false;
+                }
+            }
+        }
+    }
+    
+    private void apply(List<Mutation> batch) throws SQLException {
+        backend.beginBatch();
+        try {
+            for (Mutation mutation : batch) {
+                switch (mutation.getType()) {
+                    case SET_COOLDOWN:
+                        backend.upsertCooldown(mutation.getUuid(), mutation.getKitId(), mutation.getValue());
+                        break;
+                    case RESET_COOLDOWN:
+                        backend.deleteCooldown(mutation.getUuid(), mutation.getKitId());
+                        break;
+                    case SET_ONE_TIME:
+                        backend.markOneTime(mutation.getUuid(), mutation.getKitId());
+                        break;
+                    case RESET_ONE_TIME:
+                        backend.resetOneTime(mutation.getUuid(), mutation.getKitId());
+                        break;
+                    case CLEAR_KIT:
+                        backend.deleteKit(mutation.getKitId());
+                        break;
+                    case EXPIRE:
+                        int deleted = backend.expire(mutation.getValue());
+                        if (deleted > 0) {
+                            plugin.log("&7Cleaned up &e" + deleted + " &7expired cooldowns");
+                        }
+                        break;
+                    case BARRIER:
+                        break;
+                }
+            }
+            
+            backend.commitBatch();
+        } catch (SQLException e) {
+            backend.rollbackBatch();
+            throw e;
+        }
+    }
+    
+    private void release(List<Mutation> batch) {
+        for (Mutation mutation : batch) {
+            untrack(mutation);
+            if (mutation.getLatch() != null) {
+                mutation.getLatch().countDown();
+            }
+        }
+    }
+    
+    private void pin(Mutation mutation) {
+        if (mutation.getSegment() >= 0) {
+            droppedSegments.add(mutation.getSegment());
+        }
+    }
+    
+    private void track(Mutation mutation) {
+        if (mutation.getType() == Mutation.Type.BARRIER) return;
+        if (mutation.getUuid() == null) {
+            pendingGlobal.incrementAndGet();
+        } else {
+            pendingByPlayer.merge(mutation.getUuid(), 1, Integer::sum);
+        }
+    }
+    
+    private void untrack(Mutation mutation) {
+        if (mutation.getType() == Mutation.Type.BARRIER) return;
+        if (mutation.getUuid() == null) {
+            pendingGlobal.decrementAndGet();
+        } else {
+            pendingByPlayer.computeIfPresent(mutation.getUuid(), (uuid, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+    
+    private void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ignored) {}
+    }
+    
+    public int getQueueDepth() {
+        synchronized (submitLock) {
+            return queue.size() + overflow.size();
+        }
+    }
+    
+    public int getPeakDepth() {
+        return peakDepth;
+    }
+    
+    public long getSubmitted() {
+        return submitted.get();
+    }
+    
+    public long getWritten() {
+        return written.get();
+    }
+    
+    public long getBatches() {
+        return batches.get();
+    }
+    
+    public long getFailedBatches() {
+        return failedBatches.get();
+    }
+    
+    public long getOverflowed() {
+        return overflowed.get();
+    }
+    
+    public long getDropped() {
+        return dropped.get();
+    }
+    
+    public Set<Long> getDroppedSegments() {
+        return droppedSegments;
+    }
+    
+    public long getLastBatchMillis() {
+        return lastBatchMillis;
+    }
+}
@@ -0,0 +1,66 @@
+package com.oakkits.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+public class ExpiryQueue {
+    
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>(64, (a, b) -> Long.compare(a.endTime, b.endTime));
+    
+    public synchronized void add(UUID uuid, int kit, long endTime) {
+        heap.add(new Entry(uuid, kit, endTime));
+    }
+    
+    public synchronized List<Entry> pollDue(long now) {
+        List<Entry> due = new ArrayList<>();
+        while (!heap.isEmpty() && heap.peek().endTime <= now) {
+            due.add(heap.poll());
+        }
+        return due;
+    }
+    
+    public synchronized void retainIf(Predicate<Entry> keep) {
+        List<Entry> live = new ArrayList<>(heap.size());
+        for (Entry entry : heap) {
+            if (keep.test(entry)) live.add(entry);
+        }
+        heap.clear();
+        heap.addAll(live);
+    }
+    
+    public synchronized int size() {
+        return heap.size();
+    }
+    
+    public synchronized void clear() {
+        heap.clear();
+    }
+    
+    public static final class Entry {
+        
+        private final UUID uuid;
+        private final int kit;
+        private final long endTime;
+        
+        private Entry(UUID uuid, int kit, long endTime) {
+            this.uuid = uuid;
+            this.kit = kit;
+            this.endTime = endTime;
+        }
+        
+        public UUID getUuid() {
+            return uuid;
+        }
+        
+        public int getKit() {
+            return kit;
+        }
+        
+        public long getEndTime() {
+            return endTime;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.oakkits.storage;
+
+import com.oakkits.OakKits;
+import org.h2.Driver;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+
+public class H2StorageBackend extends JdbcStorageBackend {
+    
+    private final Driver driver = new Driver();
+    private final String url;
+    
+    public H2StorageBackend(OakKits plugin) {
+        super(plugin, "");
+        this.url = "jdbc:h2:file:" + new File(plugin.getDataFolder(), "data-h2").getAbsolutePath();
+    }
+    
+    @Override
+    public String getName() {
+        return "H2";
+    }
+    
+    @Override
+    public String getLocation() {
+        return url;
+    }
+    
+    @Override
+    protected Connection openConnection() throws SQLException {
+        Connection connection = driver.connect(url, new Properties());
+        if (connection == null) {
+            throw new SQLException("H2 driver rejected URL " + url);
+        }
+        return connection;
+    }
+    
+    @Override
+    protected String upsertCooldownSql() {
+        return "MERGE INTO " + cooldownsTable + " (uuid, kit, end_time) KEY (uuid, kit) VALUES (?, ?, ?)";
+    }
+    
+    @Override
+    protected String upsertOneTimeSql() {
+        return "MERGE INTO " + oneTimeTable + " (uuid, kit) KEY (uuid, kit) VALUES (?, ?)";
+    }
+    
+    @Override
+    protected String insertKitSql() {
+        return "MERGE INTO " + kitsTable + " (name) KEY (name) VALUES (?)";
+    }
+}
@@ -0,0 +1,429 @@
+package com.oakkits.storage;
+
+import com.oakkits.OakKits;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public abstract class JdbcStorageBackend implements StorageBackend {
+    
+    public static final int SCHEMA_VERSION = 2;
+    
+    private static final int MIGRATION_BATCH_SIZE = 1000;
+    
+    protected final OakKits plugin;
+    protected final String cooldownsTable;
+    protected final String oneTimeTable;
+    protected final String kitsTable;
+    protected final String versionTable;
+    protected final String legacyCooldownsTable;
+    protected final String legacyOneTimeTable;
+    
+    private final Map<String, Integer> kitIds = new ConcurrentHashMap<>();
+    private final Object readLock = new Object();
+    private StatementCache readSession;
+    private StatementCache writeSession;
+    
+    protected JdbcStorageBackend(OakKits plugin, String tablePrefix) {
+        this.plugin = plugin;
+        this.cooldownsTable = tablePrefix + "player_cooldowns";
+        this.oneTimeTable = tablePrefix + "player_one_time";
+        this.kitsTable = tablePrefix + "kits";
+        this.versionTable = tablePrefix + "schema_version";
+        this.legacyCooldownsTable = tablePrefix + "cooldowns";
+        this.legacyOneTimeTable = tablePrefix + "one_time";
+    }
+    
+    protected abstract Connection openConnection() throws SQLException;
+    
+    protected abstract String upsertCooldownSql();
+    
+    protected abstract String upsertOneTimeSql();
+    
+    protected abstract String insertKitSql();
+    
+    protected boolean keepsConnections() {
+        return true;
+    }
+    
+    protected String uuidType() {
+        return "BINARY(16)";
+    }
+    
+    protected String kitKeyColumn() {
+        return "id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY";
+    }
+    
+    protected String playerTableOptions() {
+        return "";
+    }
+    
+    protected String[] schemaSql() {
+        return new String[] {
+            "CREATE TABLE IF NOT EXISTS " + versionTable + " (version INTEGER NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS " + kitsTable + " (" +
+                kitKeyColumn() + ", " +
+                "name VARCHAR(64) NOT NULL UNIQUE" +
+                ")",
+            "CREATE TABLE IF NOT EXISTS " + cooldownsTable + " (" +
+                "uuid " + uuidType() + " NOT NULL, " +
+                "kit INTEGER NOT NULL, " +
+                "end_time BIGINT NOT NULL, " +
+                "PRIMARY KEY (uuid, kit)" +
+                ")" + playerTableOptions(),
+            "CREATE TABLE IF NOT EXISTS " + oneTimeTable + " (" +
+                "uuid " + uuidType() + " NOT NULL, " +
+                "kit INTEGER NOT NULL, " +
+                "PRIMARY KEY (uuid, kit)" +
+                ")" + playerTableOptions(),
+            "CREATE INDEX IF NOT EXISTS idx_" + cooldownsTable + "_kit ON " + cooldownsTable + "(kit)",
+            "CREATE INDEX IF NOT EXISTS idx_" + cooldownsTable + "_end ON " + cooldownsTable + "(end_time)",
+            "CREATE INDEX IF NOT EXISTS idx_" + oneTimeTable + "_kit ON " + oneTimeTable + "(kit)"
+        };
+    }
+    
+    protected void afterMigration(Connection connection) throws SQLException {
+    }
+    
+    @Override
+    public void init() throws SQLException {
+        StatementCache session = new StatementCache(openConnection());
+        try {
+            Connection connection = session.getConnection();
+            try (Statement stmt = connection.createStatement()) {
+                for (String sql : schemaSql()) {
+                    stmt.execute(sql);
+                }
+            }
+            
+            int version = readVersion(connection);
+            if (version < SCHEMA_VERSION) {
+                migrateLegacy(session);
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.executeUpdate("DELETE FROM " + versionTable);
+                    stmt.executeUpdate("INSERT INTO " + versionTable + " (version) VALUES (" + SCHEMA_VERSION + ")");
+                }
+            } else if (version > SCHEMA_VERSION) {
+                plugin.log("&eDatabase schema v" + version + " is newer than this version of OakKits supports (v" + SCHEMA_VERSION + ")");
+            }
+        } finally {
+            session.close();
+        }
+    }
+    
+    private int readVersion(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM " + versionTable)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+    
+    private boolean tableExists(Connection connection, String table) {
+        try (Statement stmt = connection.createStatement();
+             ResultSet ignored = stmt.executeQuery("SELECT 1 FROM " + table + " WHERE 1 = 0")) {
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+    
+    private void migrateLegacy(StatementCache session) throws SQLException {
+        Connection connection = session.getConnection();
+        boolean hasCooldowns = tableExists(connection, legacyCooldownsTable);
+        boolean hasOneTime = tableExists(connection, legacyOneTimeTable);
+        if (!hasCooldowns && !hasOneTime) return;
+        
+        plugin.log("&eMigrating player data to schema v" + SCHEMA_VERSION + "...");
+        long now = System.currentTimeMillis();
+        int cooldownRows = 0;
+        int oneTimeRows = 0;
+        
+        connection.setAutoCommit(false);
+        try {
+            if (hasCooldowns) {
+                PreparedStatement insert = session.get(upsertCooldownSql());
+                try (Statement stmt = connection.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT uuid, kit_id, end_time FROM " + legacyCooldownsTable)) {
+                    while (rs.next()) {
+                        long endTime = rs.getLong("end_time");
+                        byte[] uuid = parseLegacyUuid(rs.getString("uuid"));
+                        if (endTime <= now || uuid == null) continue;
+                        
+                        insert.setBytes(1, uuid);
+                        insert.setInt(2, resolveKit(session, rs.getString("kit_id")));
+                        insert.setLong(3, endTime);
+                        insert.addBatch();
+                        if (++cooldownRows % MIGRATION_BATCH_SIZE == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                }
+                insert.executeBatch();
+            }
+            
+            if (hasOneTime) {
+                PreparedStatement insert = session.get(upsertOneTimeSql());
+                try (Statement stmt = connection.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT uuid, kit_id FROM " + legacyOneTimeTable + " WHERE used = 1")) {
+                    while (rs.next()) {
+                        byte[] uuid = parseLegacyUuid(rs.getString("uuid"));
+                        if (uuid == null) continue;
+                        
+                        insert.setBytes(1, uuid);
+                        insert.setInt(2, resolveKit(session, rs.getString("kit_id")));
+                        insert.addBatch();
+                        if (++oneTimeRows % MIGRATION_BATCH_SIZE == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                }
+                insert.executeBatch();
+            }
+            
+            try (Statement stmt = connection.createStatement()) {
+                if (hasCooldowns) stmt.execute("DROP TABLE " + legacyCooldownsTable);
+                if (hasOneTime) stmt.execute("DROP TABLE " + legacyOneTimeTable);
+            }
+            
+            connection.commit();
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException ignored) {}
+            kitIds.clear();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        
+        afterMigration(connection);
+        plugin.log("&aMigrated &e" + cooldownRows + " &acooldowns and &e" + oneTimeRows + " &aone-time records to schema v" + SCHEMA_VERSION);
+    }
+    
+    private byte[] parseLegacyUuid(String value) {
+        try {
+            return toBytes(UUID.fromString(value));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            plugin.debug("Skipping invalid UUID during migration: " + value);
+            return null;
+        }
+    }
+    
+    protected static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+            .putLong(uuid.getMostSignificantBits())
+            .putLong(uuid.getLeastSignificantBits())
+            .array();
+    }
+    
+    private int resolveKit(StatementCache session, String name) throws SQLException {
+        Integer cached = kitIds.get(name);
+        if (cached != null) return cached;
+        
+        Integer id = findKit(session, name);
+        if (id == null) {
+            PreparedStatement insert = session.get(insertKitSql());
+            insert.setString(1, name);
+            insert.executeUpdate();
+            id = findKit(session, name);
+            if (id == null) {
+                throw new SQLException("Could not register kit id " + name);
+            }
+        }
+        kitIds.put(name, id);
+        return id;
+    }
+    
+    private Integer findKit(StatementCache session, String name) throws SQLException {
+        Integer cached = kitIds.get(name);
+        if (cached != null) return cached;
+        
+        PreparedStatement select = session.get("SELECT id FROM " + kitsTable + " WHERE name = ?");
+        select.setString(1, name);
+        try (ResultSet rs = select.executeQuery()) {
+            if (!rs.next()) return null;
+            int id = rs.getInt(1);
+            kitIds.put(name, id);
+            return id;
+        }
+    }
+    
+    @Override
+    public void loadPlayer(UUID uuid, long now, Map<String, Long> cooldowns, Map<String, Boolean> oneTime) throws SQLException {
+        if (!keepsConnections()) {
+            StatementCache session = new StatementCache(openConnection());
+            try {
+                query(session, uuid, now, cooldowns, oneTime);
+            } finally {
+                session.close();
+            }
+            return;
+        }
+        
+        synchronized (readLock) {
+            if (readSession == null) {
+                readSession = new StatementCache(openConnection());
+            }
+            try {
+                query(readSession, uuid, now, cooldowns, oneTime);
+            } catch (SQLException e) {
+                readSession.close();
+                readSession = null;
+                throw e;
+            }
+        }
+    }
+    
+    private void query(StatementCache session, UUID uuid, long now, Map<String, Long> cooldowns, Map<String, Boolean> oneTime) throws SQLException {
+        byte[] key = toBytes(uuid);
+        
+        PreparedStatement cooldownQuery = session.get("SELECT k.name, c.end_time FROM " + cooldownsTable + " c " +
+            "JOIN " + kitsTable + " k ON k.id = c.kit WHERE c.uuid = ? AND c.end_time > ?");
+        cooldownQuery.setBytes(1, key);
+        cooldownQuery.setLong(2, now);
+        try (ResultSet rs = cooldownQuery.executeQuery()) {
+            while (rs.next()) {
+                cooldowns.put(rs.getString(1), rs.getLong(2));
+            }
+        }
+        
+        PreparedStatement oneTimeQuery = session.get("SELECT k.name FROM " + oneTimeTable + " o " +
+            "JOIN " + kitsTable + " k ON k.id = o.kit WHERE o.uuid = ?");
+        oneTimeQuery.setBytes(1, key);
+        try (ResultSet rs = oneTimeQuery.executeQuery()) {
+            while (rs.next()) {
+                oneTime.put(rs.getString(1), true);
+            }
+        }
+    }
+    
+    @Override
+    public void forEachCooldown(long now, CooldownVisitor visitor) throws SQLException {
+        try (Connection connection = openConnection();
+             PreparedStatement stmt = connection.prepareStatement("SELECT c.uuid, k.name, c.end_time FROM " + cooldownsTable + " c " +
+                 "JOIN " + kitsTable + " k ON k.id = c.kit WHERE c.end_time > ?")) {
+            stmt.setLong(1, now);
+            stmt.setFetchSize(1000);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ByteBuffer uuid = ByteBuffer.wrap(rs.getBytes(1));
+                    visitor.visit(uuid.getLong(), uuid.getLong(), rs.getString(2), rs.getLong(3));
+                }
+            }
+        }
+    }
+    
+    @Override
+    public void beginBatch() throws SQLException {
+        if (writeSession == null) {
+            writeSession = new StatementCache(openConnection());
+        }
+        writeSession.getConnection().setAutoCommit(false);
+    }
+    
+    @Override
+    public void upsertCooldown(UUID uuid, String kitId, long endTime) throws SQLException {
+        PreparedStatement stmt = writeSession.get(upsertCooldownSql());
+        stmt.setBytes(1, toBytes(uuid));
+        stmt.setInt(2, resolveKit(writeSession, kitId));
+        stmt.setLong(3, endTime);
+        stmt.executeUpdate();
+    }
+    
+    @Override
+    public void deleteCooldown(UUID uuid, String kitId) throws SQLException {
+        Integer kit = findKit(writeSession, kitId);
+        if (kit == null) return;
+        
+        PreparedStatement stmt = writeSession.get("DELETE FROM " + cooldownsTable + " WHERE uuid = ? AND kit = ?");
+        stmt.setBytes(1, toBytes(uuid));
+        stmt.setInt(2, kit);
+        stmt.executeUpdate();
+    }
+    
+    @Override
+    public void markOneTime(UUID uuid, String kitId) throws SQLException {
+        PreparedStatement stmt = writeSession.get(upsertOneTimeSql());
+        stmt.setBytes(1, toBytes(uuid));
+        stmt.setInt(2, resolveKit(writeSession, kitId));
+        stmt.executeUpdate();
+    }
+    
+    @Override
+    public void resetOneTime(UUID uuid, String kitId) throws SQLException {
+        Integer kit = findKit(writeSession, kitId);
+        if (kit == null) return;
+        
+        PreparedStatement stmt = writeSession.get("DELETE FROM " + oneTimeTable + " WHERE uuid = ? AND kit = ?");
+        stmt.setBytes(1, toBytes(uuid));
+        stmt.setInt(2, kit);
+        stmt.executeUpdate();
+    }
+    
+    @Override
+    public void deleteKit(String kitId) throws SQLException {
+        Integer kit = findKit(writeSession, kitId);
+        if (kit == null) return;
+        
+        PreparedStatement cooldowns = writeSession.get("DELETE FROM " + cooldownsTable + " WHERE kit = ?");
+        cooldowns.setInt(1, kit);
+        cooldowns.executeUpdate();
+        
+        PreparedStatement oneTime = writeSession.get("DELETE FROM " + oneTimeTable + " WHERE kit = ?");
+        oneTime.setInt(1, kit);
+        oneTime.executeUpdate();
+    }
+    
+    @Override
+    public int expire(long now) throws SQLException {
+        PreparedStatement stmt = writeSession.get("DELETE FROM " + cooldownsTable + " WHERE end_time < ?");
+        stmt.setLong(1, now);
+        return stmt.executeUpdate();
+    }
+    
+    @Override
+    public void commitBatch() throws SQLException {
+        writeSession.getConnection().commit();
+        try {
+            writeSession.getConnection().setAutoCommit(true);
+        } catch (SQLException ignored) {}
+        if (!keepsConnections()) {
+            closeWriteSession();
+        }
+    }
+    
+    @Override
+    public void rollbackBatch() {
+        if (writeSession == null) return;
+        try {
+            writeSession.getConnection().rollback();
+        } catch (SQLException ignored) {}
+        kitIds.clear();
+        closeWriteSession();
+    }
+    
+    private void closeWriteSession() {
+        if (writeSession != null) {
+            writeSession.close();
+            writeSession = null;
+        }
+    }
+    
+    @Override
+    public void close() {
+        closeWriteSession();
+        synchronized (readLock) {
+            if (readSession != null) {
+                readSession.close();
+                readSession = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.oakkits.storage;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+public final class Mutation {
+    
+    public enum Type {
+        SET_COOLDOWN,
+        RESET_COOLDOWN,
+        SET_ONE_TIME,
+        RESET_ONE_TIME,
+        CLEAR_KIT,
+        EXPIRE,
+        BARRIER
+    }
+    
+    private final Type type;
+    private final UUID uuid;
+    private final String kitId;
+    private final long value;
+    private final CountDownLatch latch;
+    private volatile long segment = -1L;
+    
+    private Mutation(Type type, UUID uuid, String kitId, long value, CountDownLatch latch) {
+        this.type = type;
+        this.uuid = uuid;
+        this.kitId = kitId;
+        this.value = value;
+        this.latch = latch;
+    }
+    
+    public static Mutation setCooldown(UUID uuid, String kitId, long endTime) {
+        return new Mutation(Type.SET_COOLDOWN, uuid, kitId, endTime, null);
+    }
+    
+    public static Mutation resetCooldown(UUID uuid, String kitId) {
+        return new Mutation(Type.RESET_COOLDOWN, uuid, kitId, 0, null);
+    }
+    
+    public static Mutation setOneTime(UUID uuid, String kitId) {
+        return new Mutation(Type.SET_ONE_TIME, uuid, kitId, 0, null);
+    }
+    
+    public static Mutation resetOneTime(UUID uuid, String kitId) {
+        return new Mutation(Type.RESET_ONE_TIME, uuid, kitId, 0, null);
+    }
+    
+    public static Mutation clearKit(String kitId) {
+        return new Mutation(Type.CLEAR_KIT, null, kitId, 0, null);
+    }
+    
+    public static Mutation expire(long now) {
+        return new Mutation(Type.EXPIRE, null, null, now, null);
+    }
+    
+    static Mutation of(Type type, UUID uuid, String kitId, long value) {
+        return new Mutation(type, uuid, kitId, value, null);
+    }
+    
+    public static Mutation barrier() {
+        return new Mutation(Type.BARRIER, null, null, 0, new CountDownLatch(1));
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public UUID getUuid() {
+        return uuid;
+    }
+    
+    public String getKitId() {
+        return kitId;
+    }
+    
+    public long getValue() {
+        return value;
+    }
+    
+    public CountDownLatch getLatch() {
+        return latch;
+    }
+    
+    long getSegment() {
+        return segment;
+    }
+    
+    void setSegment(long segment) {
+        this.segment = segment;
+    }
+}
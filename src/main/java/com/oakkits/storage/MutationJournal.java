@@ -0,0 +1,209 @@
+package com.oakkits.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+public class MutationJournal {
+    
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".log";
+    private static final int MAX_RECORD_SIZE = 64 + Short.MAX_VALUE;
+    private static final int FLAG_UUID = 1;
+    private static final int FLAG_KIT = 2;
+    
+    private final File directory;
+    private final boolean fsync;
+    private final ByteBuffer record = ByteBuffer.allocate(MAX_RECORD_SIZE);
+    private final CRC32 crc = new CRC32();
+    private final List<File> sealed = new ArrayList<>();
+    
+    private FileChannel channel;
+    private File active;
+    private long activeNumber;
+    private long activeSize;
+    private long nextSegment;
+    
+    public MutationJournal(File directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+    }
+    
+    public synchronized void open() throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(SUFFIX));
+        if (files != null) {
+            Arrays.sort(files, (a, b) -> Long.compare(segmentNumber(a), segmentNumber(b)));
+            for (File file : files) {
+                long number = segmentNumber(file);
+                if (number < 0) continue;
+                sealed.add(file);
+                nextSegment = Math.max(nextSegment, number + 1);
+            }
+        }
+        
+        openSegment();
+    }
+    
+    private void openSegment() throws IOException {
+        activeNumber = nextSegment++;
+        active = new File(directory, PREFIX + activeNumber + SUFFIX);
+        channel = FileChannel.open(active.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        activeSize = channel.size();
+    }
+    
+    private static long segmentNumber(File file) {
+        String name = file.getName();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+    
+    public synchronized int replay(Consumer<Mutation> consumer) throws IOException {
+        int replayed = 0;
+        for (File file : sealed) {
+            long number = segmentNumber(file);
+            ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            while (data.remaining() >= 4) {
+                int length = data.getInt();
+                if (length <= 0 || length > MAX_RECORD_SIZE || data.remaining() < length + 4) break;
+                
+                byte[] body = new byte[length];
+                data.get(body);
+                int checksum = data.getInt();
+                crc.reset();
+                crc.update(body, 0, length);
+                if ((int) crc.getValue() != checksum) break;
+                
+                Mutation mutation = decode(ByteBuffer.wrap(body));
+                if (mutation != null) {
+                    mutation.setSegment(number);
+                    consumer.accept(mutation);
+                    replayed++;
+                }
+            }
+        }
+        return replayed;
+    }
+    
+    private Mutation decode(ByteBuffer body) {
+        int typeIndex = body.get();
+        if (typeIndex < 0 || typeIndex >= Mutation.Type.values().length) return null;
+        Mutation.Type type = Mutation.Type.values()[typeIndex];
+        int flags = body.get();
+        
+        UUID uuid = null;
+        if ((flags & FLAG_UUID) != 0) {
+            uuid = new UUID(body.getLong(), body.getLong());
+        }
+        String kitId = null;
+        if ((flags & FLAG_KIT) != 0) {
+            byte[] kitBytes = new byte[body.getShort()];
+            body.get(kitBytes);
+            kitId = new String(kitBytes, StandardCharsets.UTF_8);
+        }
+        return Mutation.of(type, uuid, kitId, body.getLong());
+    }
+    
+    public synchronized void append(Mutation mutation) throws IOException {
+        if (channel == null || mutation.getType() == Mutation.Type.BARRIER) return;
+        
+        byte[] kitBytes = mutation.getKitId() != null ? mutation.getKitId().getBytes(StandardCharsets.UTF_8) : null;
+        if (kitBytes != null && kitBytes.length > Short.MAX_VALUE) {
+            throw new IOException("Kit id too long to journal: " + mutation.getKitId());
+        }
+        record.clear();
+        record.putInt(0);
+        record.put((byte) mutation.getType().ordinal());
+        record.put((byte) ((mutation.getUuid() != null ? FLAG_UUID : 0) | (kitBytes != null ? FLAG_KIT : 0)));
+        if (mutation.getUuid() != null) {
+            record.putLong(mutation.getUuid().getMostSignificantBits());
+            record.putLong(mutation.getUuid().getLeastSignificantBits());
+        }
+        if (kitBytes != null) {
+            record.putShort((short) kitBytes.length);
+            record.put(kitBytes);
+        }
+        record.putLong(mutation.getValue());
+        
+        int length = record.position() - 4;
+        record.putInt(0, length);
+        crc.reset();
+        crc.update(record.array(), 4, length);
+        record.putInt((int) crc.getValue());
+        record.flip();
+        
+        while (record.hasRemaining()) {
+            activeSize += channel.write(record);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+        mutation.setSegment(activeNumber);
+    }
+    
+    public synchronized long getActiveSize() {
+        return activeSize;
+    }
+    
+    public synchronized List<File> rotate() throws IOException {
+        if (channel != null && activeSize > 0) {
+            channel.close();
+            sealed.add(active);
+            openSegment();
+        }
+        return new ArrayList<>(sealed);
+    }
+    
+    public synchronized int delete(List<File> segments, Set<Long> pinned) {
+        long oldestPinned = Long.MAX_VALUE;
+        for (long number : pinned) {
+            oldestPinned = Math.min(oldestPinned, number);
+        }
+        
+        int kept = 0;
+        for (File segment : segments) {
+            if (segmentNumber(segment) >= oldestPinned) {
+                kept++;
+            } else if (segment.delete() || !segment.exists()) {
+                sealed.remove(segment);
+            }
+        }
+        return kept;
+    }
+    
+    public synchronized void close(boolean committed) {
+        close(committed, Collections.emptySet());
+    }
+    
+    public synchronized void close(boolean committed, Set<Long> pinned) {
+        if (channel != null) {
+            try {
+                channel.force(true);
+                channel.close();
+            } catch (IOException ignored) {}
+            channel = null;
+        }
+        if (committed) {
+            sealed.add(active);
+            delete(new ArrayList<>(sealed), pinned);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.oakkits.storage;
+
+import com.oakkits.OakKits;
+import com.oakkits.managers.ConfigManager;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public class MySQLStorageBackend extends JdbcStorageBackend {
+    
+    private static final String[] DRIVERS = {"org.mariadb.jdbc.Driver", "com.mysql.cj.jdbc.Driver", "com.mysql.jdbc.Driver"};
+    
+    private HikariDataSource dataSource;
+    
+    public MySQLStorageBackend(OakKits plugin) {
+        super(plugin, plugin.getConfigManager().getMysqlTablePrefix());
+    }
+    
+    @Override
+    public String getName() {
+        return "MySQL";
+    }
+    
+    @Override
+    public String getLocation() {
+        ConfigManager config = plugin.getConfigManager();
+        return config.getMysqlHost() + ":" + config.getMysqlPort() + "/" + config.getMysqlDatabase() + "/" + config.getMysqlTablePrefix();
+    }
+    
+    @Override
+    public void init() throws SQLException {
+        ConfigManager config = plugin.getConfigManager();
+        String driverClass = findDriver();
+        String scheme = driverClass.startsWith("org.mariadb") ? "mariadb" : "mysql";
+        
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName("OakKits-MySQL");
+        hikari.setDriverClassName(driverClass);
+        hikari.setJdbcUrl("jdbc:" + scheme + "://" + config.getMysqlHost() + ":" + config.getMysqlPort() + "/" + config.getMysqlDatabase());
+        hikari.setUsername(config.getMysqlUsername());
+        hikari.setPassword(config.getMysqlPassword());
+        hikari.setMaximumPoolSize(config.getMysqlPoolSize());
+        hikari.setMinimumIdle(config.getMysqlMinIdle());
+        hikari.setConnectionTimeout(config.getMysqlConnectionTimeout());
+        hikari.setMaxLifetime(config.getMysqlMaxLifetime());
+        hikari.addDataSourceProperty("useSSL", String.valueOf(config.isMysqlUseSsl()));
+        hikari.addDataSourceProperty("cachePrepStmts", "true");
+        hikari.addDataSourceProperty("prepStmtCacheSize", "64");
+        hikari.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        hikari.addDataSourceProperty("useServerPrepStmts", "true");
+        hikari.addDataSourceProperty("rewriteBatchedStatements", "true");
+        
+        try {
+            dataSource = new HikariDataSource(hikari);
+        } catch (RuntimeException e) {
+            throw new SQLException("Could not open connection pool: " + e.getMessage(), e);
+        }
+        super.init();
+    }
+    
+    private String findDriver() throws SQLException {
+        for (String driver : DRIVERS) {
+            try {
+                Class.forName(driver);
+                return driver;
+            } catch (ClassNotFoundException ignored) {}
+        }
+        throw new SQLException("No MySQL or MariaDB JDBC driver found");
+    }
+    
+    @Override
+    protected Connection openConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+    
+    @Override
+    protected boolean keepsConnections() {
+        return false;
+    }
+    
+    @Override
+    protected String[] schemaSql() {
+        return new String[] {
+            "CREATE TABLE IF NOT EXISTS " + versionTable + " (version INT NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS " + kitsTable + " (" +
+                "id INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+                "name VARCHAR(64) NOT NULL UNIQUE" +
+                ") DEFAULT CHARSET=utf8mb4",
+            "CREATE TABLE IF NOT EXISTS " + cooldownsTable + " (" +
+                "uuid BINARY(16) NOT NULL, " +
+                "kit INT NOT NULL, " +
+                "end_time BIGINT NOT NULL, " +
+                "PRIMARY KEY (uuid, kit), " +
+                "INDEX idx_kit (kit), " +
+                "INDEX idx_end (end_time)" +
+                ")",
+            "CREATE TABLE IF NOT EXISTS " + oneTimeTable + " (" +
+                "uuid BINARY(16) NOT NULL, " +
+                "kit INT NOT NULL, " +
+                "PRIMARY KEY (uuid, kit), " +
+                "INDEX idx_kit (kit)" +
+                ")"
+        };
+    }
+    
+    @Override
+    protected String upsertCooldownSql() {
+        return "INSERT INTO " + cooldownsTable + " (uuid, kit, end_time) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE end_time = VALUES(end_time)";
+    }
+    
+    @Override
+    protected String upsertOneTimeSql() {
+        return "INSERT IGNORE INTO " + oneTimeTable + " (uuid, kit) VALUES (?, ?)";
+    }
+    
+    @Override
+    protected String insertKitSql() {
+        return "INSERT IGNORE INTO " + kitsTable + " (name) VALUES (?)";
+    }
+    
+    @Override
+    public void close() {
+        super.close();
+        if (dataSource != null) {
+            dataSource.close();
+            dataSource = null;
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package com.oakkits.storage;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+public class OffHeapCooldownTable {
+    
+    private static final int MAGIC = 0x4F4B4354;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 32;
+    private static final int MIN_CAPACITY = 1024;
+    private static final int MAX_CAPACITY = 1 << 25;
+    private static final float MAX_LOAD = 0.7f;
+    
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_VERSION = 4;
+    private static final int HEADER_CAPACITY = 8;
+    private static final int HEADER_SIZE_FIELD = 12;
+    private static final int HEADER_OCCUPIED = 16;
+    private static final int HEADER_CLEAN = 20;
+    private static final int HEADER_FINGERPRINT = 24;
+    
+    private static final int SLOT_MSB = 0;
+    private static final int SLOT_LSB = 8;
+    private static final int SLOT_END = 16;
+    private static final int SLOT_KIT = 24;
+    private static final int SLOT_STATE = 28;
+    
+    private static final int EMPTY = 0;
+    private static final int USED = 1;
+    private static final int DELETED = 2;
+    private static final char RETIRED_PREFIX = '!';
+    
+    private final File file;
+    private final File kitsFile;
+    private final int initialCapacity;
+    private final StampedLock lock = new StampedLock();
+    private final Map<String, Integer> kitIndex = new ConcurrentHashMap<>();
+    private final List<String> kitNames = new ArrayList<>();
+    private final BitSet retired = new BitSet();
+    
+    private RandomAccessFile raf;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int size;
+    private int occupied;
+    private boolean needsRebuild;
+    
+    public OffHeapCooldownTable(File file, int initialCapacity) {
+        this.file = file;
+        this.kitsFile = new File(file.getParentFile(), file.getName() + ".kits");
+        this.initialCapacity = tableSizeFor(initialCapacity);
+    }
+    
+    public static void discard(File file) throws IOException {
+        Files.deleteIfExists(file.toPath());
+        Files.deleteIfExists(new File(file.getParentFile(), file.getName() + ".kits").toPath());
+    }
+    
+    public void open(long fingerprint) throws IOException {
+        long stamp = lock.writeLock();
+        try {
+            boolean exists = file.exists() && file.length() >= HEADER_SIZE;
+            raf = new RandomAccessFile(file, "rw");
+            channel = raf.getChannel();
+            
+            if (exists && kitsFile.exists()) {
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+                int storedCapacity = header.getInt(HEADER_CAPACITY);
+                boolean valid = header.getInt(HEADER_MAGIC) == MAGIC
+                    && header.getInt(HEADER_VERSION) == VERSION
+                    && storedCapacity >= MIN_CAPACITY && storedCapacity <= MAX_CAPACITY
+                    && Integer.bitCount(storedCapacity) == 1
+                    && file.length() >= HEADER_SIZE + (long) storedCapacity * SLOT_SIZE;
+                if (valid) {
+                    capacity = storedCapacity;
+                    map();
+                    size = buffer.getInt(HEADER_SIZE_FIELD);
+                    occupied = buffer.getInt(HEADER_OCCUPIED);
+                    needsRebuild = buffer.getInt(HEADER_CLEAN) != 1 || buffer.getLong(HEADER_FINGERPRINT) != fingerprint;
+                    loadKits();
+                } else {
+                    reset(initialCapacity);
+                }
+            } else {
+                reset(initialCapacity);
+            }
+            
+            buffer.putLong(HEADER_FINGERPRINT, fingerprint);
+            markDirty();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    private void reset(int newCapacity) throws IOException {
+        resize(newCapacity);
+        kitIndex.clear();
+        kitNames.clear();
+        retired.clear();
+        Files.deleteIfExists(kitsFile.toPath());
+        needsRebuild = true;
+    }
+    
+    private void resize(int newCapacity) throws IOException {
+        capacity = newCapacity;
+        long length = HEADER_SIZE + (long) capacity * SLOT_SIZE;
+        if (raf.length() < length) {
+            raf.setLength(length);
+        }
+        map();
+        for (int position = HEADER_SIZE; position < length; position += 8) {
+            buffer.putLong(position, 0L);
+        }
+        buffer.putInt(HEADER_MAGIC, MAGIC);
+        buffer.putInt(HEADER_VERSION, VERSION);
+        buffer.putInt(HEADER_CAPACITY, capacity);
+        size = 0;
+        occupied = 0;
+        writeCounts();
+    }
+    
+    private void map() throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+    }
+    
+    private void loadKits() throws IOException {
+        kitIndex.clear();
+        kitNames.clear();
+        retired.clear();
+        try (BufferedReader reader = Files.newBufferedReader(kitsFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty() && line.charAt(0) == RETIRED_PREFIX) {
+                    Integer index = kitIndex.remove(line.substring(1));
+                    if (index != null) retired.set(index);
+                } else {
+                    kitIndex.put(line, kitNames.size());
+                    kitNames.add(line);
+                }
+            }
+        }
+    }
+    
+    private void appendKitLine(String line) throws IOException {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(kitsFile, true), StandardCharsets.UTF_8)) {
+            writer.write(line);
+            writer.write('\n');
+        }
+    }
+    
+    private int registerKit(String kitId) throws IOException {
+        Integer index = kitIndex.get(kitId);
+        if (index != null) return index;
+        
+        appendKitLine(kitId);
+        index = kitNames.size();
+        kitNames.add(kitId);
+        kitIndex.put(kitId, index);
+        return index;
+    }
+    
+    private void markDirty() {
+        buffer.putInt(HEADER_CLEAN, 0);
+        buffer.force();
+    }
+    
+    public boolean needsRebuild() {
+        return needsRebuild;
+    }
+    
+    public long get(UUID uuid, String kitId) {
+        Integer kit = kitIndex.get(kitId);
+        if (kit == null) return 0L;
+        
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        long stamp = lock.readLock();
+        try {
+            if (buffer == null) return 0L;
+            int slot = find(msb, lsb, kit);
+            return slot < 0 ? 0L : buffer.getLong(offset(slot) + SLOT_END);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    public void put(UUID uuid, String kitId, long endTime) throws IOException {
+        put(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), kitId, endTime);
+    }
+    
+    public void put(long msb, long lsb, String kitId, long endTime) throws IOException {
+        long stamp = lock.writeLock();
+        try {
+            if (buffer == null) return;
+            int kit = registerKit(kitId);
+            int slot = find(msb, lsb, kit);
+            if (slot >= 0) {
+                buffer.putLong(offset(slot) + SLOT_END, endTime);
+                return;
+            }
+            
+            if (occupied + 1 > capacity * MAX_LOAD) {
+                if (!grow()) return;
+            }
+            insert(msb, lsb, kit, endTime);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    public void remove(UUID uuid, String kitId) {
+        Integer kit = kitIndex.get(kitId);
+        if (kit == null) return;
+        
+        long stamp = lock.writeLock();
+        try {
+            if (buffer == null) return;
+            int slot = find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), kit);
+            if (slot >= 0) {
+                delete(slot);
+                writeCounts();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    public void removeKit(String kitId) throws IOException {
+        long stamp = lock.writeLock();
+        try {
+            if (buffer == null) return;
+            Integer kit = kitIndex.get(kitId);
+            if (kit == null) return;
+            
+            appendKitLine(RETIRED_PREFIX + kitId);
+            kitIndex.remove(kitId);
+            retired.set(kit);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    public int sweepExpired(long now) {
+        long stamp = lock.writeLock();
+        try {
+            if (buffer == null) return 0;
+            int removed = 0;
+            for (int slot = 0; slot < capacity; slot++) {
+                int base = offset(slot);
+                if (buffer.getInt(base + SLOT_STATE) == USED
+                    && (buffer.getLong(base + SLOT_END) <= now || retired.get(buffer.getInt(base + SLOT_KIT)))) {
+                    delete(slot);
+                    removed++;
+                }
+            }
+            writeCounts();
+            return removed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    public void clear() throws IOException {
+        long stamp = lock.writeLock();
+        try {
+            if (buffer == null) return;
+            reset(capacity);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    public void markRebuilt() {
+        needsRebuild = false;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public void close() {
+        long stamp = lock.writeLock();
+        try {
+            if (buffer != null) {
+                writeCounts();
+                buffer.force();
+                buffer.putInt(HEADER_CLEAN, needsRebuild ? 0 : 1);
+                buffer.force();
+                buffer = null;
+            }
+            if (raf != null) {
+                try {
+                    raf.close();
+                } catch (IOException ignored) {}
+                raf = null;
+                channel = null;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    private int find(long msb, long lsb, int kit) {
+        int mask = capacity - 1;
+        int slot = hash(msb, lsb, kit) & mask;
+        for (int probes = 0; probes < capacity; probes++) {
+            int base = offset(slot);
+            int state = buffer.getInt(base + SLOT_STATE);
+            if (state == EMPTY) return -1;
+            if (state == USED
+                && buffer.getInt(base + SLOT_KIT) == kit
+                && buffer.getLong(base + SLOT_MSB) == msb
+                && buffer.getLong(base + SLOT_LSB) == lsb) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+    
+    private void insert(long msb, long lsb, int kit, long endTime) {
+        int mask = capacity - 1;
+        int slot = hash(msb, lsb, kit) & mask;
+        while (true) {
+            int base = offset(slot);
+            int state = buffer.getInt(base + SLOT_STATE);
+            if (state != USED) {
+                buffer.putLong(base + SLOT_MSB, msb);
+                buffer.putLong(base + SLOT_LSB, lsb);
+                buffer.putLong(base + SLOT_END, endTime);
+                buffer.putInt(base + SLOT_KIT, kit);
+                buffer.putInt(base + SLOT_STATE, USED);
+                size++;
+                if (state == EMPTY) occupied++;
+                writeCounts();
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+    
+    private void delete(int slot) {
+        buffer.putInt(offset(slot) + SLOT_STATE, DELETED);
+        size--;
+    }
+    
+    private boolean grow() throws IOException {
+        int newCapacity = size + 1 > capacity * MAX_LOAD / 2 ? capacity << 1 : capacity;
+        if (newCapacity > MAX_CAPACITY) return false;
+        
+        markDirty();
+        long[] msbs = new long[size];
+        long[] lsbs = new long[size];
+        long[] ends = new long[size];
+        int[] kits = new int[size];
+        int count = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            int base = offset(slot);
+            if (buffer.getInt(base + SLOT_STATE) == USED && !retired.get(buffer.getInt(base + SLOT_KIT))) {
+                msbs[count] = buffer.getLong(base + SLOT_MSB);
+                lsbs[count] = buffer.getLong(base + SLOT_LSB);
+                ends[count] = buffer.getLong(base + SLOT_END);
+                kits[count] = buffer.getInt(base + SLOT_KIT);
+                count++;
+            }
+        }
+        
+        resize(newCapacity);
+        for (int i = 0; i < count; i++) {
+            insert(msbs[i], lsbs[i], kits[i], ends[i]);
+        }
+        writeCounts();
+        return true;
+    }
+    
+    private void writeCounts() {
+        buffer.putInt(HEADER_SIZE_FIELD, size);
+        buffer.putInt(HEADER_OCCUPIED, occupied);
+    }
+    
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+    
+    private static int hash(long msb, long lsb, int kit) {
+        long h = msb * 0x9E3779B97F4A7C15L ^ lsb ^ (kit * 0xC2B2AE3D27D4EB4FL);
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+    
+    private static int tableSizeFor(int requested) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < requested && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,61 @@
+package com.oakkits.storage;
+
+import java.util.Arrays;
+
+public final class PlayerRecord {
+    
+    private static final long[] EMPTY = new long[0];
+    
+    private volatile long[] cooldownEnds = EMPTY;
+    private volatile long[] oneTimeBits = EMPTY;
+    
+    public long getCooldownEnd(int kit) {
+        long[] ends = cooldownEnds;
+        return kit < ends.length ? ends[kit] : 0L;
+    }
+    
+    public synchronized void setCooldownEnd(int kit, long endTime) {
+        long[] ends = cooldownEnds;
+        if (kit >= ends.length) {
+            if (endTime == 0L) return;
+            ends = Arrays.copyOf(ends, Math.max(kit + 1, ends.length + (ends.length >> 1)));
+        }
+        ends[kit] = endTime;
+        cooldownEnds = ends;
+    }
+    
+    public synchronized boolean clearCooldownIf(int kit, long endTime) {
+        long[] ends = cooldownEnds;
+        if (kit >= ends.length || ends[kit] != endTime) return false;
+        ends[kit] = 0L;
+        cooldownEnds = ends;
+        return true;
+    }
+    
+    public boolean hasUsedOneTime(int kit) {
+        long[] bits = oneTimeBits;
+        int word = kit >>> 6;
+        return word < bits.length && (bits[word] & (1L << kit)) != 0;
+    }
+    
+    public synchronized void setOneTimeUsed(int kit, boolean used) {
+        long[] bits = oneTimeBits;
+        int word = kit >>> 6;
+        if (word >= bits.length) {
+            if (!used) return;
+            bits = Arrays.copyOf(bits, word + 1);
+        }
+        if (used) {
+            bits[word] |= 1L << kit;
+        } else {
+            bits[word] &= ~(1L << kit);
+        }
+        oneTimeBits = bits;
+    }
+    
+    public synchronized void clearKit(int kit) {
+        setCooldownEnd(kit, 0L);
+        setOneTimeUsed(kit, false);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.oakkits.storage;
+
+import com.oakkits.OakKits;
+import com.oakkits.managers.ConfigManager;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class SQLiteStorageBackend extends JdbcStorageBackend {
+    
+    private final String url;
+    
+    public SQLiteStorageBackend(OakKits plugin) {
+        super(plugin, "");
+        this.url = "jdbc:sqlite:" + new File(plugin.getDataFolder(), "data.db").getAbsolutePath();
+    }
+    
+    @Override
+    public String getName() {
+        return "SQLite";
+    }
+    
+    @Override
+    public String getLocation() {
+        return url;
+    }
+    
+    @Override
+    protected Connection openConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        ConfigManager config = plugin.getConfigManager();
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = 5000");
+            try (ResultSet rs = stmt.executeQuery("PRAGMA journal_mode = " + config.getSqliteJournalMode())) {
+                if (rs.next()) {
+                    plugin.debug("SQLite journal mode: " + rs.getString(1));
+                }
+            }
+            stmt.execute("PRAGMA synchronous = " + config.getSqliteSynchronous());
+            stmt.execute("PRAGMA mmap_size = " + (long) config.getSqliteMmapSizeMb() * 1024 * 1024);
+            stmt.execute("PRAGMA cache_size = -" + config.getSqliteCacheSizeMb() * 1024);
+            stmt.execute("PRAGMA temp_store = MEMORY");
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+    
+    @Override
+    protected String uuidType() {
+        return "BLOB";
+    }
+    
+    @Override
+    protected String kitKeyColumn() {
+        return "id INTEGER PRIMARY KEY";
+    }
+    
+    @Override
+    protected String playerTableOptions() {
+        return " WITHOUT ROWID";
+    }
+    
+    @Override
+    protected void afterMigration(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("VACUUM");
+        }
+    }
+    
+    @Override
+    protected String upsertCooldownSql() {
+        return "INSERT OR REPLACE INTO " + cooldownsTable + " (uuid, kit, end_time) VALUES (?, ?, ?)";
+    }
+    
+    @Override
+    protected String upsertOneTimeSql() {
+        return "INSERT OR IGNORE INTO " + oneTimeTable + " (uuid, kit) VALUES (?, ?)";
+    }
+    
+    @Override
+    protected String insertKitSql() {
+        return "INSERT OR IGNORE INTO " + kitsTable + " (name) VALUES (?)";
+    }
+}
@@ -0,0 +1,42 @@
+package com.oakkits.storage;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+public class StatementCache {
+    
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    
+    public StatementCache(Connection connection) {
+        this.connection = connection;
+    }
+    
+    public PreparedStatement get(String sql) throws SQLException {
+        PreparedStatement stmt = statements.get(sql);
+        if (stmt == null || stmt.isClosed()) {
+            stmt = connection.prepareStatement(sql);
+            statements.put(sql, stmt);
+        }
+        return stmt;
+    }
+    
+    public Connection getConnection() {
+        return connection;
+    }
+    
+    public void close() {
+        for (PreparedStatement stmt : statements.values()) {
+            try {
+                stmt.close();
+            } catch (SQLException ignored) {}
+        }
+        statements.clear();
+        try {
+            connection.close();
+        } catch (SQLException ignored) {}
+    }
+}
@@ -0,0 +1,43 @@
+package com.oakkits.storage;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+
+public interface StorageBackend {
+    
+    String getName();
+    
+    String getLocation();
+    
+    void init() throws SQLException;
+    
+    void loadPlayer(UUID uuid, long now, Map<String, Long> cooldowns, Map<String, Boolean> oneTime) throws SQLException;
+    
+    void forEachCooldown(long now, CooldownVisitor visitor) throws SQLException;
+    
+    void beginBatch() throws SQLException;
+    
+    void upsertCooldown(UUID uuid, String kitId, long endTime) throws SQLException;
+    
+    void deleteCooldown(UUID uuid, String kitId) throws SQLException;
+    
+    void markOneTime(UUID uuid, String kitId) throws SQLException;
+    
+    void resetOneTime(UUID uuid, String kitId) throws SQLException;
+    
+    void deleteKit(String kitId) throws SQLException;
+    
+    int expire(long now) throws SQLException;
+    
+    void commitBatch() throws SQLException;
+    
+    void rollbackBatch();
+    
+    void close();
+    
+    interface CooldownVisitor {
+        
+        void visit(long uuidMost, long uuidLeast, String kitId, long endTime) throws SQLException;
+    }
+}
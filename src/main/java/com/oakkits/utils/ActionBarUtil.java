@@ -2,7 +2,9 @@ package com.oakkits.utils;
 
 import org.bukkit.entity.Player;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 
@@ -10,6 +12,8 @@ public final class ActionBarUtil {
     
     private static boolean useSpigotApi = true;
     private static boolean initialized = false;
+    private static volatile NmsBinding nms;
+    private static volatile boolean nmsUnavailable;
     
     private ActionBarUtil() {}
     
@@ -48,43 +52,121 @@ public final class ActionBarUtil {
     }
     
     private static void sendActionBarNMS(Player player, String message) {
+        NmsBinding binding = nms;
+        if (binding == null) {
+            binding = nmsUnavailable ? null : resolveNms(player);
+            if (binding == null) {
+                player.sendMessage(message);
+                return;
+            }
+        }
+        
+        try {
+            Object entityPlayer = (Object) binding.getHandle.invokeExact((Object) player);
+            Object playerConnection = (Object) binding.playerConnection.invokeExact(entityPlayer);
+            Object component = (Object) binding.serialize.invokeExact(toJson(message));
+            Object packet = (Object) binding.newPacket.invokeExact(component);
+            binding.sendPacket.invokeExact(playerConnection, packet);
+        } catch (Throwable e) {
+            player.sendMessage(message);
+        }
+    }
+    
+    private static synchronized NmsBinding resolveNms(Player player) {
+        if (nms != null || nmsUnavailable) return nms;
+        
         try {
-            String version = player.getClass().getPackage().getName().split("\\.")[3];
+            String[] packageParts = player.getClass().getPackage().getName().split("\\.");
+            if (packageParts.length < 4) {
+                nmsUnavailable = true;
+                return null;
+            }
+            String version = packageParts[3];
+            String nmsPackage = "net.minecraft.server." + version + ".";
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
             
             Class<?> craftPlayerClass = Class.forName("org.bukkit.craftbukkit." + version + ".entity.CraftPlayer");
-            Object craftPlayer = craftPlayerClass.cast(player);
             Method getHandleMethod = craftPlayerClass.getMethod("getHandle");
-            Object entityPlayer = getHandleMethod.invoke(craftPlayer);
-            
-            Class<?> packetClass = Class.forName("net.minecraft.server." + version + ".PacketPlayOutChat");
-            Class<?> chatComponentClass = Class.forName("net.minecraft.server." + version + ".IChatBaseComponent");
-            Class<?> chatSerializerClass = Class.forName("net.minecraft.server." + version + ".IChatBaseComponent$ChatSerializer");
+            Field playerConnectionField = getHandleMethod.getReturnType().getField("playerConnection");
             
+            Class<?> packetClass = Class.forName(nmsPackage + "PacketPlayOutChat");
+            Class<?> chatComponentClass = Class.forName(nmsPackage + "IChatBaseComponent");
+            Class<?> chatSerializerClass = Class.forName(nmsPackage + "IChatBaseComponent$ChatSerializer");
             Method serializeMethod = chatSerializerClass.getMethod("a", String.class);
-            Object chatComponent = serializeMethod.invoke(null, "{\"text\":\"" + message + "\"}");
-            
-            Constructor<?> packetConstructor;
-            Object packet;
             
+            MethodHandle newPacket;
             try {
-                Class<?> chatMessageTypeClass = Class.forName("net.minecraft.server." + version + ".ChatMessageType");
-                Field gameInfoField = chatMessageTypeClass.getField("GAME_INFO");
-                Object gameInfo = gameInfoField.get(null);
-                packetConstructor = packetClass.getConstructor(chatComponentClass, chatMessageTypeClass);
-                packet = packetConstructor.newInstance(chatComponent, gameInfo);
-            } catch (Exception e) {
-                packetConstructor = packetClass.getConstructor(chatComponentClass, byte.class);
-                packet = packetConstructor.newInstance(chatComponent, (byte) 2);
+                Class<?> chatMessageTypeClass = Class.forName(nmsPackage + "ChatMessageType");
+                Object gameInfo = chatMessageTypeClass.getField("GAME_INFO").get(null);
+                newPacket = MethodHandles.insertArguments(
+                    lookup.unreflectConstructor(packetClass.getConstructor(chatComponentClass, chatMessageTypeClass)), 1, gameInfo);
+            } catch (ReflectiveOperationException e) {
+                newPacket = MethodHandles.insertArguments(
+                    lookup.unreflectConstructor(packetClass.getConstructor(chatComponentClass, byte.class)), 1, (byte) 2);
             }
             
-            Field playerConnectionField = entityPlayer.getClass().getField("playerConnection");
-            Object playerConnection = playerConnectionField.get(entityPlayer);
-            Method sendPacketMethod = playerConnection.getClass().getMethod("sendPacket", 
-                Class.forName("net.minecraft.server." + version + ".Packet"));
-            sendPacketMethod.invoke(playerConnection, packet);
+            Method sendPacketMethod = playerConnectionField.getType().getMethod("sendPacket", Class.forName(nmsPackage + "Packet"));
             
-        } catch (Exception e) {
-            player.sendMessage(message);
+            nms = new NmsBinding(
+                lookup.unreflect(getHandleMethod).asType(MethodType.methodType(Object.class, Object.class)),
+                lookup.unreflectGetter(playerConnectionField).asType(MethodType.methodType(Object.class, Object.class)),
+                lookup.unreflect(serializeMethod).asType(MethodType.methodType(Object.class, String.class)),
+                newPacket.asType(MethodType.methodType(Object.class, Object.class)),
+                lookup.unreflect(sendPacketMethod).asType(MethodType.methodType(void.class, Object.class, Object.class))
+            );
+            return nms;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            nmsUnavailable = true;
+            return null;
+        }
+    }
+    
+    private static String toJson(String message) {
+        StringBuilder json = new StringBuilder(message.length() + 16).append("{\"text\":\"");
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        return json.append("\"}").toString();
+    }
+    
+    private static final class NmsBinding {
+        
+        private final MethodHandle getHandle;
+        private final MethodHandle playerConnection;
+        private final MethodHandle serialize;
+        private final MethodHandle newPacket;
+        private final MethodHandle sendPacket;
+        
+        private NmsBinding(MethodHandle getHandle, MethodHandle playerConnection, MethodHandle serialize,
+                           MethodHandle newPacket, MethodHandle sendPacket) {
+            this.getHandle = getHandle;
+            this.playerConnection = playerConnection;
+            this.serialize = serialize;
+            this.newPacket = newPacket;
+            this.sendPacket = sendPacket;
         }
     }
 }
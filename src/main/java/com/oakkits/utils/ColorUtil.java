@@ -1,40 +1,119 @@
 package com.oakkits.utils;
 
-import org.bukkit.ChatColor;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 public final class ColorUtil {
     
-    private static final Pattern HEX_PATTERN = Pattern.compile("&#([A-Fa-f0-9]{6})");
+    private static final char ALT_CHAR = '&';
+    private static final char COLOR_CHAR = '§';
+    private static final String CODES = "0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx";
+    private static final int HEX_LENGTH = 6;
+    private static final int CACHE_SIZE = 1024;
+    private static final int MAX_CACHED_LENGTH = 256;
+    
+    private static final Map<String, String> cache = new LinkedHashMap<String, String>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
     
     private ColorUtil() {}
     
     public static String colorize(String message) {
         if (message == null) return "";
+        if (message.indexOf(ALT_CHAR) < 0) return message;
+        if (message.length() > MAX_CACHED_LENGTH) return translate(message);
         
-        Matcher matcher = HEX_PATTERN.matcher(message);
-        StringBuffer buffer = new StringBuffer();
+        String colored;
+        synchronized (cache) {
+            colored = cache.get(message);
+        }
+        if (colored != null) {
+            hits.incrementAndGet();
+            return colored;
+        }
         
-        while (matcher.find()) {
-            String hex = matcher.group(1);
-            StringBuilder replacement = new StringBuilder("§x");
-            for (char c : hex.toCharArray()) {
-                replacement.append("§").append(c);
+        misses.incrementAndGet();
+        colored = translate(message);
+        synchronized (cache) {
+            cache.put(message, colored);
+        }
+        return colored;
+    }
+    
+    private static String translate(String message) {
+        int length = message.length();
+        StringBuilder builder = new StringBuilder(length + 16);
+        for (int i = 0; i < length; i++) {
+            char c = message.charAt(i);
+            if (c == ALT_CHAR && i + 1 < length) {
+                char next = message.charAt(i + 1);
+                if (next == '#' && isHex(message, i + 2)) {
+                    builder.append(COLOR_CHAR).append('x');
+                    for (int j = i + 2; j < i + 2 + HEX_LENGTH; j++) {
+                        builder.append(COLOR_CHAR).append(message.charAt(j));
+                    }
+                    i += 1 + HEX_LENGTH;
+                    continue;
+                }
+                if (CODES.indexOf(next) >= 0) {
+                    builder.append(COLOR_CHAR).append(Character.toLowerCase(next));
+                    i++;
+                    continue;
+                }
             }
-            matcher.appendReplacement(buffer, replacement.toString());
+            builder.append(c);
         }
-        matcher.appendTail(buffer);
-        
-        return ChatColor.translateAlternateColorCodes('&', buffer.toString());
+        return builder.toString();
     }
     
     public static String stripColor(String message) {
         if (message == null) return "";
-        return ChatColor.stripColor(colorize(message));
+        if (message.indexOf(ALT_CHAR) < 0 && message.indexOf(COLOR_CHAR) < 0) return message;
+        
+        int length = message.length();
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            char c = message.charAt(i);
+            if ((c == ALT_CHAR || c == COLOR_CHAR) && i + 1 < length) {
+                char next = message.charAt(i + 1);
+                if (c == ALT_CHAR && next == '#' && isHex(message, i + 2)) {
+                    i += 1 + HEX_LENGTH;
+                    continue;
+                }
+                if (CODES.indexOf(next) >= 0) {
+                    i++;
+                    continue;
+                }
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+    
+    private static boolean isHex(String message, int start) {
+        if (start + HEX_LENGTH > message.length()) return false;
+        for (int i = start; i < start + HEX_LENGTH; i++) {
+            char c = message.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f') && (c < 'A' || c > 'F')) return false;
+        }
+        return true;
     }
     
     public static String consoleColor(String message) {
         return colorize(message);
     }
+    
+    public static long getCacheHits() {
+        return hits.get();
+    }
+    
+    public static long getCacheMisses() {
+        return misses.get();
+    }
 }